@@ -0,0 +1,41 @@
+package com.zubigaray.tienda.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del pool de conexiones de las exportaciones en streaming.
+ * <p>
+ * Es un pool aparte y chico porque sus conexiones se abren con {@code useCursorFetch=true}: con esa opción el driver de
+ * MySQL trae las filas de un cursor del servidor de a {@code fetchSize}, pero también convierte todas las sentencias de
+ * la conexión en sentencias preparadas del servidor, algo que no se quiere para el resto de la aplicación.
+ */
+@Configuration
+public class ExportDataSourceConfig {
+
+    /**
+     * Crea el pool de conexiones de las exportaciones a partir de {@code spring.datasource.*}. No es candidato por
+     * defecto para la inyección, de modo que Spring Boot sigue configurando el {@code DataSource} principal y solo lo
+     * reciben quienes lo piden por nombre. Las conexiones se crean recién con la primera exportación.
+     *
+     * @param dataSourceProperties Propiedades de {@code spring.datasource.*}.
+     * @param poolSize             Cantidad máxima de exportaciones simultáneas.
+     * @return El pool de conexiones de las exportaciones.
+     */
+    @Bean(defaultCandidate = false)
+    public HikariDataSource exportDataSource(DataSourceProperties dataSourceProperties,
+                                             @Value("${tienda.export.pool-size:2}") int poolSize) {
+        var dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("export");
+        dataSource.setMaximumPoolSize(poolSize);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+        if (dataSource.getJdbcUrl().startsWith("jdbc:mysql:")) {
+            dataSource.addDataSourceProperty("useCursorFetch", "true");
+        }
+        return dataSource;
+    }
+}
@@ -0,0 +1,36 @@
+package com.zubigaray.tienda.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las migraciones del esquema con Flyway.
+ */
+@Configuration
+public class FlywayConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(FlywayConfig.class);
+
+    /**
+     * Aplica las migraciones pendientes al arrancar, salvo en la ejecución de entrenamiento del archivo CDS
+     * ({@code spring.context.exit=onRefresh}), que se hace sin base de datos. No se usa
+     * {@code spring.flyway.enabled=false} para ese caso porque con Spring AOT las condiciones se evalúan al compilar.
+     *
+     * @param contextExit Valor de {@code spring.context.exit}.
+     * @return La estrategia de migración.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${spring.context.exit:}") String contextExit) {
+        return flyway -> {
+            if ("onRefresh".equalsIgnoreCase(contextExit)) {
+                log.info("Skipping schema migrations during the training run");
+                return;
+            }
+            flyway.migrate();
+        };
+    }
+}
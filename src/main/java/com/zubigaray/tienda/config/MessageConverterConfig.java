@@ -0,0 +1,46 @@
+package com.zubigaray.tienda.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuración de los formatos binarios que ofrece la API además de JSON.
+ * <p>
+ * Los clientes eligen el formato con el encabezado {@code Accept}: {@code application/cbor} o
+ * {@code application/x-jackson-smile}; sin él, las respuestas siguen siendo JSON. Los mismos tipos se aceptan en el
+ * cuerpo de las solicitudes mediante {@code Content-Type}. Ambos convertidores se construyen a partir del
+ * {@link Jackson2ObjectMapperBuilder} de Spring Boot, de modo que serializan los DTOs igual que el de JSON
+ * (fechas, módulos y propiedades {@code spring.jackson.*}).
+ */
+@Configuration
+public class MessageConverterConfig {
+
+    /**
+     * Expone el convertidor de CBOR. Reemplaza al que Spring MVC registra por defecto, que no usa la configuración de
+     * Jackson de Spring Boot.
+     *
+     * @param objectMapperBuilder Constructor de {@code ObjectMapper} configurado por Spring Boot.
+     * @return El convertidor de CBOR.
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Expone el convertidor de Smile. Reemplaza al que Spring MVC registra por defecto, que no usa la configuración de
+     * Jackson de Spring Boot.
+     *
+     * @param objectMapperBuilder Constructor de {@code ObjectMapper} configurado por Spring Boot.
+     * @return El convertidor de Smile.
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,36 @@
+package com.zubigaray.tienda.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zubigaray.tienda.service.FileOrderEventPublisher;
+import com.zubigaray.tienda.service.OrderEventPublisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.nio.file.Path;
+
+/**
+ * Configuración de Spring para la publicación asíncrona de eventos de pedido (patrón transactional outbox).
+ * Habilita las tareas programadas que ejecutan el relay y define el publicador por defecto.
+ */
+@Configuration
+@EnableScheduling
+public class OutboxConfig {
+
+    /**
+     * Expone el publicador de eventos por defecto, que escribe los eventos en un archivo local.
+     * Se reemplaza definiendo otro bean de tipo {@link OrderEventPublisher}.
+     *
+     * @param file         Ruta del archivo en el que se escriben los eventos.
+     * @param objectMapper Mapper utilizado para serializar los eventos.
+     * @return Una instancia de {@link FileOrderEventPublisher}.
+     */
+    @Bean
+    @ConditionalOnMissingBean(OrderEventPublisher.class)
+    public OrderEventPublisher orderEventPublisher(@Value("${tienda.outbox.file:order-events.ndjson}") String file,
+                                                   ObjectMapper objectMapper) {
+        return new FileOrderEventPublisher(Path.of(file), objectMapper);
+    }
+}
@@ -0,0 +1,91 @@
+package com.zubigaray.tienda.config;
+
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.config.builders.ExpiryPolicyBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Configuración de la caché de segundo nivel de Hibernate para las entidades que se leen mucho más de lo que se escriben
+ * ({@code User}, {@code Product} y la búsqueda de usuarios por nombre de usuario).
+ * <p>
+ * La caché es opcional ({@code tienda.cache.enabled}). Cuando está activa, Hibernate usa un {@link CacheManager} de JCache
+ * respaldado por Ehcache en el que cada región tiene un tamaño máximo y un tiempo de vida propios, y publica sus
+ * estadísticas por región en Micrometer ({@code hibernate.second.level.cache.*}). Las regiones que no estén configuradas
+ * hacen fallar el arranque en lugar de crearse sin límite.
+ * <p>
+ * Las entidades usan la estrategia {@code READ_WRITE}, de modo que las escrituras hechas a través de los repositorios
+ * actualizan la caché al confirmar la transacción. Las escrituras por SQL nativo o JDBC sobre esas tablas no pasan por
+ * Hibernate y deben desalojar las regiones afectadas mediante {@code EntityManagerFactory.getCache()}.
+ */
+@Configuration
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfig {
+
+    /**
+     * Crea el administrador de cachés con una región acotada por cada entrada de {@code tienda.cache.regions}.
+     * Se usa un URI propio por instancia para no compartir las cachés con otros contextos de la misma JVM.
+     *
+     * @param properties Configuración de la caché.
+     * @return El administrador de cachés que utilizará Hibernate.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "tienda.cache.enabled", havingValue = "true")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties) {
+        var configuration = ConfigurationBuilder.newConfigurationBuilder();
+        if (properties.regions() != null) {
+            for (var entry : properties.regions().entrySet()) {
+                var region = entry.getValue();
+                var cache = CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
+                        ResourcePoolsBuilder.heap(region.maxEntries()));
+                if (region.ttl() != null) {
+                    cache = cache.withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(region.ttl()));
+                }
+                configuration = configuration.withCache(entry.getKey(), cache.build());
+            }
+        }
+        var provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        return provider.getCacheManager(URI.create("urn:tienda:hibernate-cache:" + UUID.randomUUID()), configuration.build());
+    }
+
+    /**
+     * Ajusta las propiedades de Hibernate según si la caché está activa. Cuando no lo está, se desactiva explícitamente,
+     * porque Hibernate la habilitaría por su cuenta al encontrar un proveedor de JCache en el classpath.
+     *
+     * @param properties   Configuración de la caché.
+     * @param cacheManager Administrador de cachés, disponible solo si la caché está activa.
+     * @return El personalizador de propiedades de Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(SecondLevelCacheProperties properties,
+                                                                    ObjectProvider<CacheManager> cacheManager) {
+        return hibernateProperties -> {
+            var manager = cacheManager.getIfAvailable();
+            if (!properties.enabled() || manager == null) {
+                hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, properties.queryCache());
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, manager);
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
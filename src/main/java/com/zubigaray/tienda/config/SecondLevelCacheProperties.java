@@ -0,0 +1,39 @@
+package com.zubigaray.tienda.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuración de la caché de segundo nivel de Hibernate ({@code tienda.cache.*}).
+ * Cada región se define por nombre con su tamaño máximo y su tiempo de vida, por ejemplo:
+ * <pre>
+ * tienda.cache.regions.users.max-entries=10000
+ * tienda.cache.regions.users.ttl=30m
+ * </pre>
+ *
+ * @param enabled    Indica si la caché de segundo nivel está activa.
+ * @param queryCache Indica si se cachean también los resultados de las consultas marcadas como cacheables.
+ * @param regions    Parámetros de cada región, por nombre.
+ */
+@ConfigurationProperties("tienda.cache")
+public record SecondLevelCacheProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("false") boolean queryCache,
+        Map<String, Region> regions
+) {
+
+    /**
+     * Parámetros de una región de la caché.
+     *
+     * @param maxEntries Cantidad máxima de entradas en memoria; al superarla se desalojan las menos usadas.
+     * @param ttl        Tiempo de vida de cada entrada desde que se escribe; si se omite, las entradas no expiran.
+     */
+    public record Region(
+            long maxEntries,
+            Duration ttl
+    ) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.zubigaray.tienda.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mide el tiempo desde el inicio de la JVM hasta que se respondió la primera solicitud HTTP, que es lo que realmente
+ * espera una instancia nueva al escalar. Lo registra en el log junto con el tiempo hasta que el contexto quedó
+ * iniciado (servidor web escuchando, antes de los {@code ApplicationRunner}) y lo expone en la métrica
+ * {@code tienda.startup.first-request}.
+ * <p>
+ * Es el primer filtro de la cadena, por lo que la medición incluye la seguridad y la inicialización diferida de
+ * Spring MVC que ocurre con la primera solicitud.
+ */
+@Component
+public class StartupTimingReporter extends OncePerRequestFilter implements Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingReporter.class);
+
+    private final AtomicBoolean firstRequestServed = new AtomicBoolean();
+    private final AtomicLong startedMillis = new AtomicLong(-1);
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+
+    /**
+     * Constructor para la clase StartupTimingReporter.
+     *
+     * @param meterRegistry Registro de métricas.
+     */
+    public StartupTimingReporter(MeterRegistry meterRegistry) {
+        TimeGauge.builder("tienda.startup.first-request", firstRequestMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start until the first HTTP response, -1 until then")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registra el momento en que el contexto quedó iniciado y el servidor web empezó a aceptar solicitudes.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void onApplicationStarted() {
+        startedMillis.set(ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!firstRequestServed.get() && firstRequestServed.compareAndSet(false, true)) {
+                firstRequestMillis.set(ManagementFactory.getRuntimeMXBean().getUptime());
+                log.info("Time to first request: {} ms (started after {} ms)", firstRequestMillis.get(), startedMillis.get());
+            }
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
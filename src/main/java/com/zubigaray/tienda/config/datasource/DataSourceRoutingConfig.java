@@ -0,0 +1,124 @@
+package com.zubigaray.tienda.config.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+
+/**
+ * Configuración del enrutamiento de lecturas a réplicas. Solo se activa con {@code tienda.datasource.routing.enabled=true};
+ * en caso contrario Spring Boot configura el único pool de {@code spring.datasource.*} como siempre.
+ * <p>
+ * El {@link DataSource} principal de la aplicación (el que usan JPA, {@code JdbcTemplate} y los administradores de
+ * transacciones) pasa a ser un {@link LazyConnectionDataSourceProxy} sobre un {@link ReadWriteRoutingDataSource}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tienda.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class DataSourceRoutingConfig {
+
+    /**
+     * Crea el pool de conexiones de la base principal a partir de {@code spring.datasource.*} y
+     * {@code spring.datasource.hikari.*}, igual que lo haría Spring Boot.
+     *
+     * @param dataSourceProperties Propiedades de {@code spring.datasource.*}.
+     * @return El pool de conexiones de la base principal.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        var dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Crea el registro de escrituras recientes por usuario. Es un bean para que los servicios que operan sobre un
+     * usuario aún no autenticado (registro y carga del usuario al autenticar) puedan asociarlo a su transacción.
+     *
+     * @param properties Configuración del enrutamiento.
+     * @return El registro de escrituras recientes.
+     */
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(RoutingDataSourceProperties properties) {
+        return new ReadYourWritesTracker(properties.readYourWritesWindow(), System::nanoTime);
+    }
+
+    /**
+     * Crea el {@link DataSource} que enruta entre la base principal y las réplicas, con un pool de conexiones de solo
+     * lectura por réplica. Los pools de las réplicas esperan una conexión como máximo {@code connection-timeout}
+     * (1 segundo por defecto, en lugar de los 30 de Hikari), para que una réplica caída se saque de servicio enseguida
+     * y la lectura pase a la base principal.
+     *
+     * @param primaryDataSource     Pool de conexiones de la base principal.
+     * @param dataSourceProperties  Propiedades de {@code spring.datasource.*}, usadas cuando una réplica no define las suyas.
+     * @param properties            Configuración del enrutamiento.
+     * @param readYourWritesTracker Registro de escrituras recientes por usuario.
+     * @param meterRegistry         Registro de métricas.
+     * @return El {@link DataSource} de enrutamiento.
+     */
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                 DataSourceProperties dataSourceProperties,
+                                                                 RoutingDataSourceProperties properties,
+                                                                 ReadYourWritesTracker readYourWritesTracker,
+                                                                 MeterRegistry meterRegistry) {
+        var replicas = new LinkedHashMap<String, DataSource>();
+        if (properties.replicas() != null) {
+            for (var replica : properties.replicas()) {
+                var dataSource = new HikariDataSource();
+                dataSource.setPoolName(replica.name());
+                dataSource.setJdbcUrl(replica.url());
+                dataSource.setUsername(replica.username() != null ? replica.username() : dataSourceProperties.determineUsername());
+                dataSource.setPassword(replica.password() != null ? replica.password() : dataSourceProperties.determinePassword());
+                dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+                dataSource.setMaximumPoolSize(replica.maximumPoolSize());
+                dataSource.setConnectionTimeout(replica.connectionTimeout().toMillis());
+                dataSource.setReadOnly(true);
+                dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+                replicas.put(replica.name(), dataSource);
+            }
+        }
+        return new ReadWriteRoutingDataSource(primaryDataSource, replicas, readYourWritesTracker,
+                properties.healthCheckTimeout(), meterRegistry);
+    }
+
+    /**
+     * Expone el {@link DataSource} de la aplicación. El proxy demora la obtención de la conexión física hasta la primera
+     * sentencia, cuando ya se sabe si la transacción es de solo lectura.
+     *
+     * @param readWriteRoutingDataSource El {@link DataSource} de enrutamiento.
+     * @return El {@link DataSource} principal de la aplicación.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    /**
+     * Hace que Hibernate libere la conexión al terminar cada transacción. Por defecto Spring la retiene mientras la
+     * sesión está abierta (por ejemplo, durante toda la solicitud con open-in-view), y una escritura posterior en la
+     * misma solicitud terminaría usando la conexión de réplica obtenida por una lectura anterior.
+     *
+     * @return El personalizador de propiedades de Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer routingConnectionHandlingCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,201 @@
+package com.zubigaray.tienda.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link DataSource} que envía las transacciones de solo lectura ({@code @Transactional(readOnly = true)}) a una réplica
+ * y todo lo demás a la base principal.
+ * <p>
+ * La decisión se toma al obtener la conexión física, por lo que debe usarse detrás de un
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: así la conexión se pide recién con la
+ * primera sentencia, cuando la transacción ya quedó marcada como de solo lectura.
+ * <p>
+ * Reglas de enrutamiento:
+ * - Las réplicas se eligen en turno rotativo entre las que están sanas.
+ * - Si el usuario autenticado confirmó una escritura dentro de la ventana de {@link ReadYourWritesTracker}, sus lecturas
+ *   van a la base principal.
+ * - Si no hay réplicas sanas, o la réplica elegida no entrega una conexión, la lectura va a la base principal y la
+ *   réplica queda fuera de servicio hasta que la verificación periódica la vuelva a validar.
+ * <p>
+ * Expone las métricas {@code tienda.datasource.connections} (etiquetada por destino),
+ * {@code tienda.datasource.replica.up} y {@code tienda.datasource.replica.failures} (etiquetadas por réplica).
+ */
+public class ReadWriteRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final List<ReplicaNode> replicas;
+    private final ReadYourWritesTracker readYourWritesTracker;
+    private final int healthCheckTimeoutSeconds;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    /**
+     * Constructor para la clase ReadWriteRoutingDataSource.
+     *
+     * @param primary               Base de datos principal, que recibe las escrituras.
+     * @param replicas              Réplicas de solo lectura, por nombre.
+     * @param readYourWritesTracker Registro de escrituras recientes por usuario.
+     * @param healthCheckTimeout    Tiempo máximo de espera al validar una conexión de réplica.
+     * @param meterRegistry         Registro de métricas.
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                      ReadYourWritesTracker readYourWritesTracker, Duration healthCheckTimeout,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.readYourWritesTracker = readYourWritesTracker;
+        this.healthCheckTimeoutSeconds = (int) Math.max(1, healthCheckTimeout.toSeconds());
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new ReplicaNode(entry.getKey(), entry.getValue(), meterRegistry))
+                .toList();
+
+        this.primaryConnections = Counter.builder("tienda.datasource.connections")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder("tienda.datasource.connections")
+                .tag("target", "replica")
+                .register(meterRegistry);
+        Gauge.builder("tienda.datasource.read-your-writes.users", readYourWritesTracker, ReadYourWritesTracker::pinnedUsers)
+                .description("Users whose reads are pinned to the primary after a write")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Obtiene una conexión de la base que corresponde a la transacción actual.
+     *
+     * @return Una conexión de una réplica o de la base principal.
+     * @throws SQLException Si la base principal no entrega una conexión.
+     */
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (!readYourWritesTracker.isPinnedToPrimary()) {
+                var replica = nextHealthyReplica();
+                if (replica != null) {
+                    try {
+                        var connection = replica.dataSource.getConnection();
+                        replicaConnections.increment();
+                        return connection;
+                    } catch (SQLException ex) {
+                        replica.markDown(ex);
+                    }
+                }
+            }
+        } else if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            readYourWritesTracker.recordWriteTransaction();
+        }
+        primaryConnections.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * No soportado: las credenciales se configuran en cada pool de conexiones.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per connection pool");
+    }
+
+    /**
+     * Valida una conexión de cada réplica, saca de servicio las que fallan y reincorpora las que se recuperaron.
+     * También descarta las ventanas de lectura de escrituras propias que ya vencieron.
+     */
+    @Scheduled(fixedDelayString = "${tienda.datasource.routing.health-check-delay-ms:5000}")
+    public void checkReplicas() {
+        for (var replica : replicas) {
+            try (var connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(healthCheckTimeoutSeconds)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException ex) {
+                replica.markDown(ex);
+            }
+        }
+        readYourWritesTracker.evictExpired();
+    }
+
+    /**
+     * Cierra los pools de conexiones de las réplicas. La base principal se administra por separado.
+     */
+    @Override
+    public void destroy() throws Exception {
+        for (var replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private ReplicaNode nextHealthyReplica() {
+        var size = replicas.size();
+        if (size == 0) {
+            return null;
+        }
+        var start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            var replica = replicas.get((start + i) % size);
+            if (replica.up) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Réplica junto con su estado de salud.
+     */
+    private static final class ReplicaNode {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter failures;
+        private volatile boolean up = true;
+
+        private ReplicaNode(String name, DataSource dataSource, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.failures = Counter.builder("tienda.datasource.replica.failures")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("tienda.datasource.replica.up", this, node -> node.up ? 1 : 0)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        }
+
+        private void markUp() {
+            if (!up) {
+                up = true;
+                log.info("Replica {} is back in service", name);
+            }
+        }
+
+        private void markDown(SQLException cause) {
+            failures.increment();
+            if (up) {
+                up = false;
+                log.warn("Replica {} taken out of service: {}", name, cause != null ? cause.getMessage() : "invalid connection");
+            }
+        }
+    }
+}
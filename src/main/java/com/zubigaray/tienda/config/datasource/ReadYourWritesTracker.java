@@ -0,0 +1,133 @@
+package com.zubigaray.tienda.config.datasource;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registra, por usuario autenticado, hasta cuándo sus lecturas deben ir a la base principal después de una escritura
+ * propia. Evita que un usuario deje de ver lo que acaba de escribir porque la réplica todavía no lo recibió.
+ * <p>
+ * La ventana empieza cuando se confirma la transacción de escritura, no cuando se abre, y se descarta si la transacción
+ * se revierte. El usuario es el asociado a la transacción con {@link #bindUserName(String)} o, si no hay ninguno, el
+ * usuario autenticado; las transacciones sin ninguno de los dos no se registran.
+ */
+public class ReadYourWritesTracker {
+
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+    private final ConcurrentHashMap<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private final Object boundUserNameKey = new Object();
+
+    /**
+     * Constructor para la clase ReadYourWritesTracker.
+     *
+     * @param window    Tiempo durante el cual las lecturas del usuario se envían a la base principal.
+     * @param nanoClock Reloj monotónico en nanosegundos.
+     */
+    public ReadYourWritesTracker(Duration window, LongSupplier nanoClock) {
+        this.windowNanos = window.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Asocia la transacción actual a un usuario, para las operaciones sobre un usuario que todavía no está autenticado:
+     * el registro, que escribe el usuario, y la carga del usuario durante el login o la validación del token, que debe
+     * ver ese registro aunque la réplica no lo haya recibido. Debe llamarse antes de la primera sentencia de la
+     * transacción, que es cuando se elige la base.
+     *
+     * @param userName El nombre de usuario sobre el que opera la transacción.
+     */
+    public void bindUserName(String userName) {
+        if (userName == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(boundUserNameKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(boundUserNameKey, userName);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(boundUserNameKey);
+            }
+        });
+    }
+
+    /**
+     * Marca la transacción actual como de escritura para su usuario. Al confirmarse, sus lecturas quedan
+     * fijadas a la base principal durante la ventana configurada. Se registra una sola vez por transacción.
+     */
+    public void recordWriteTransaction() {
+        var userName = currentUserName();
+        if (userName == null || windowNanos <= 0 || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, userName);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pinnedUntil.put(userName, nanoClock.getAsLong() + windowNanos);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+            }
+        });
+    }
+
+    /**
+     * Indica si las lecturas del usuario de la transacción actual deben ir a la base principal.
+     *
+     * @return {@code true} si el usuario confirmó una escritura dentro de la ventana configurada.
+     */
+    public boolean isPinnedToPrimary() {
+        var userName = currentUserName();
+        if (userName == null) {
+            return false;
+        }
+        var deadline = pinnedUntil.get(userName);
+        if (deadline == null) {
+            return false;
+        }
+        if (nanoClock.getAsLong() - deadline >= 0) {
+            pinnedUntil.remove(userName, deadline);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Descarta las ventanas ya vencidas de usuarios que no volvieron a leer.
+     */
+    public void evictExpired() {
+        var now = nanoClock.getAsLong();
+        pinnedUntil.values().removeIf(deadline -> now - deadline >= 0);
+    }
+
+    /**
+     * Obtiene la cantidad de usuarios con lecturas fijadas a la base principal.
+     *
+     * @return La cantidad de usuarios registrados.
+     */
+    public int pinnedUsers() {
+        return pinnedUntil.size();
+    }
+
+    private String currentUserName() {
+        var boundUserName = (String) TransactionSynchronizationManager.getResource(boundUserNameKey);
+        if (boundUserName != null) {
+            return boundUserName;
+        }
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,54 @@
+package com.zubigaray.tienda.config.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuración del enrutamiento de lecturas a réplicas ({@code tienda.datasource.routing.*}).
+ * La base de datos principal sigue siendo la de {@code spring.datasource.*}; las réplicas se definen como una lista:
+ * <pre>
+ * tienda.datasource.routing.enabled=true
+ * tienda.datasource.routing.replicas[0].name=replica-1
+ * tienda.datasource.routing.replicas[0].url=jdbc:mysql://10.0.0.2:3306/sb_tienda
+ * tienda.datasource.routing.replicas[0].username=lectura
+ * </pre>
+ *
+ * @param enabled              Indica si las transacciones de solo lectura se envían a las réplicas.
+ * @param readYourWritesWindow Tiempo durante el cual, después de confirmar una escritura, las lecturas del mismo usuario
+ *                             se siguen enviando a la base principal para no observar una réplica atrasada.
+ * @param healthCheckTimeout   Tiempo máximo de espera al validar una conexión de réplica.
+ * @param replicas             Réplicas de solo lectura.
+ */
+@ConfigurationProperties("tienda.datasource.routing")
+public record RoutingDataSourceProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue("2s") Duration healthCheckTimeout,
+        List<Replica> replicas
+) {
+
+    /**
+     * Parámetros de conexión de una réplica. El usuario, la contraseña y el driver se toman de
+     * {@code spring.datasource.*} cuando se omiten.
+     *
+     * @param name              Nombre de la réplica, usado en el pool de conexiones y en las métricas.
+     * @param url               URL JDBC de la réplica.
+     * @param username          Usuario de la base de datos.
+     * @param password          Contraseña de la base de datos.
+     * @param maximumPoolSize   Tamaño máximo del pool de conexiones de la réplica.
+     * @param connectionTimeout Tiempo máximo de espera de una conexión de la réplica; al vencer, la lectura va a la
+     *                          base principal y la réplica queda fuera de servicio.
+     */
+    public record Replica(
+            String name,
+            String url,
+            String username,
+            String password,
+            @DefaultValue("10") int maximumPoolSize,
+            @DefaultValue("1s") Duration connectionTimeout
+    ) {
+    }
+}
@@ -0,0 +1,40 @@
+package com.zubigaray.tienda.config.profiling;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Escucha de eventos de sesión de Hibernate que suma al perfil de la solicitud el tiempo de ejecución de las sentencias
+ * y lotes JDBC. Hibernate crea una instancia por sesión.
+ */
+public class JdbcTimingSessionListener implements SessionEventListener {
+
+    private long executeStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executeStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(executeStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private static void record(long start) {
+        var profile = SqlProfiler.current();
+        if (profile != null && start != 0) {
+            profile.recordJdbcTime(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.zubigaray.tienda.config.profiling;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Punto de registro de las sentencias SQL en el perfil de la solicitud en curso. El perfil se asocia al hilo que
+ * atiende la solicitud ({@link SqlProfilingFilter}); las sentencias ejecutadas fuera de una solicitud perfilada (tareas
+ * programadas, otros hilos) no se registran.
+ * <p>
+ * Hibernate lo usa como {@link StatementInspector}, que recibe cada sentencia antes de prepararla. Las sentencias
+ * ejecutadas directamente con {@code JdbcTemplate} no pasan por Hibernate y no se cuentan.
+ */
+public class SqlProfiler implements StatementInspector {
+
+    private static final ThreadLocal<SqlRequestProfile> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Empieza a perfilar el hilo actual con un perfil nuevo.
+     *
+     * @return El perfil en el que se registrarán las sentencias.
+     */
+    public static SqlRequestProfile start() {
+        var profile = new SqlRequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    /**
+     * Deja de perfilar el hilo actual.
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Obtiene el perfil del hilo actual.
+     *
+     * @return El perfil, o {@code null} si el hilo no se está perfilando.
+     */
+    static SqlRequestProfile current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Registra la sentencia en el perfil del hilo actual, si lo hay. No modifica el SQL.
+     *
+     * @param sql El SQL que Hibernate va a preparar.
+     * @return El mismo SQL.
+     */
+    @Override
+    public String inspect(String sql) {
+        var profile = CURRENT.get();
+        if (profile != null) {
+            profile.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,50 @@
+package com.zubigaray.tienda.config.profiling;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del perfilador de sentencias SQL por solicitud. Cuenta las sentencias que ejecuta Hibernate y su
+ * tiempo en JDBC por cada solicitud HTTP, marca como sospechosas de N+1 las formas de sentencia que se repiten y
+ * publica el resultado en métricas y en encabezados de la respuesta (ver {@link SqlProfilingFilter}).
+ * <p>
+ * Está activo por defecto y se desactiva en el perfil {@code prod} ({@code tienda.sql-profiler.enabled=false}), donde
+ * no se registra nada en Hibernate ni se agrega el filtro.
+ */
+@Configuration
+@ConditionalOnProperty(name = "tienda.sql-profiler.enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SqlProfilerProperties.class)
+public class SqlProfilerConfig {
+
+    /**
+     * Registra en Hibernate el inspector que cuenta las sentencias y el escucha de sesión que mide su tiempo en JDBC.
+     *
+     * @return El personalizador de propiedades de Hibernate.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer sqlProfilerCustomizer() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlProfiler());
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, JdbcTimingSessionListener.class.getName());
+        };
+    }
+
+    /**
+     * Expone el filtro que perfila cada solicitud HTTP.
+     *
+     * @param properties    Configuración del perfilador.
+     * @param meterRegistry Registro de métricas.
+     * @return El filtro de perfilado.
+     */
+    @Bean
+    @ConditionalOnWebApplication
+    public SqlProfilingFilter sqlProfilingFilter(SqlProfilerProperties properties, MeterRegistry meterRegistry) {
+        return new SqlProfilingFilter(properties, meterRegistry);
+    }
+}
@@ -0,0 +1,20 @@
+package com.zubigaray.tienda.config.profiling;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración del perfilador de sentencias SQL por solicitud ({@code tienda.sql-profiler.*}).
+ *
+ * @param enabled           Indica si se perfilan las solicitudes.
+ * @param nPlusOneThreshold Cantidad de ejecuciones de una misma forma de sentencia en una solicitud a partir de la cual
+ *                          se la considera sospechosa de N+1.
+ * @param responseHeaders   Indica si se agregan los encabezados {@code X-Sql-*} a las respuestas.
+ */
+@ConfigurationProperties("tienda.sql-profiler")
+public record SqlProfilerProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("5") int nPlusOneThreshold,
+        @DefaultValue("true") boolean responseHeaders
+) {
+}
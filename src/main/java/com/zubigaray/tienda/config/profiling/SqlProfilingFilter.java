@@ -0,0 +1,144 @@
+package com.zubigaray.tienda.config.profiling;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Perfila las sentencias SQL de cada solicitud HTTP. Al terminar la solicitud registra, por método y patrón de URI del
+ * endpoint, las métricas {@code tienda.sql.statements} (sentencias por solicitud), {@code tienda.sql.jdbc.time}
+ * (tiempo en JDBC por solicitud) y {@code tienda.sql.n-plus-one} (solicitudes con formas de sentencia repetidas), y
+ * deja una advertencia en el log con las sentencias repetidas.
+ * <p>
+ * Si {@code tienda.sql-profiler.response-headers} está activo agrega a la respuesta {@code X-Sql-Statements},
+ * {@code X-Sql-Time-Ms} y, si corresponde, {@code X-Sql-N-Plus-One} con la cantidad de formas sospechosas. Los
+ * encabezados se escriben justo antes de confirmar la respuesta, por lo que en las respuestas que se envían mientras
+ * el controlador sigue consultando (exportaciones en streaming) reflejan solo lo ejecutado hasta ese momento.
+ * <p>
+ * Se ubica después de {@code StartupTimingReporter} y antes de la seguridad, de modo que cuenta también las consultas
+ * de la autenticación.
+ */
+public class SqlProfilingFilter extends OncePerRequestFilter implements Ordered {
+
+    static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    static final String TIME_HEADER = "X-Sql-Time-Ms";
+    static final String N_PLUS_ONE_HEADER = "X-Sql-N-Plus-One";
+
+    private static final Logger log = LoggerFactory.getLogger(SqlProfilingFilter.class);
+
+    private final SqlProfilerProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Constructor para la clase SqlProfilingFilter.
+     *
+     * @param properties    Configuración del perfilador.
+     * @param meterRegistry Registro de métricas.
+     */
+    public SqlProfilingFilter(SqlProfilerProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var profile = SqlProfiler.start();
+        var headers = properties.responseHeaders() ? new ProfileHeadersResponseWrapper(response, profile) : null;
+        try {
+            filterChain.doFilter(request, headers != null ? headers : response);
+        } finally {
+            SqlProfiler.stop();
+            if (headers != null && !response.isCommitted()) {
+                headers.writeHeaders();
+            }
+            record(request, profile);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlRequestProfile profile) {
+        var method = request.getMethod();
+        var pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("tienda.sql.statements")
+                .description("SQL statements executed by Hibernate per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(profile.getStatements());
+        Timer.builder("tienda.sql.jdbc.time")
+                .description("Time spent executing JDBC statements per HTTP request")
+                .tags("method", method, "uri", uri)
+                .register(meterRegistry)
+                .record(profile.getJdbcTime());
+
+        var repeated = profile.repeatedStatements(properties.nPlusOneThreshold());
+        if (!repeated.isEmpty()) {
+            Counter.builder("tienda.sql.n-plus-one")
+                    .description("HTTP requests that repeated the same SQL statement shape")
+                    .tags("method", method, "uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Possible N+1 in {} {} ({} statements): {}", method, uri, profile.getStatements(), describe(repeated));
+        }
+    }
+
+    private static String describe(Map<String, Integer> repeated) {
+        var description = new StringBuilder();
+        repeated.forEach((shape, count) -> description.append(System.lineSeparator())
+                .append("  ").append(count).append("x ").append(shape));
+        return description.toString();
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    /**
+     * Envoltorio de la respuesta que escribe los encabezados del perfil antes de confirmarla.
+     */
+    private final class ProfileHeadersResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final SqlRequestProfile profile;
+        private boolean written;
+
+        ProfileHeadersResponseWrapper(HttpServletResponse response, SqlRequestProfile profile) {
+            super(response);
+            this.profile = profile;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            if (written) {
+                return;
+            }
+            written = true;
+            var response = (HttpServletResponse) getResponse();
+            response.setHeader(STATEMENTS_HEADER, Integer.toString(profile.getStatements()));
+            response.setHeader(TIME_HEADER, Long.toString(profile.getJdbcTime().toMillis()));
+            var suspects = profile.repeatedStatements(properties.nPlusOneThreshold()).size();
+            if (suspects > 0) {
+                response.setHeader(N_PLUS_ONE_HEADER, Integer.toString(suspects));
+            }
+        }
+    }
+}
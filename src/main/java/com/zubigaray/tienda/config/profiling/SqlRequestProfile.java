@@ -0,0 +1,90 @@
+package com.zubigaray.tienda.config.profiling;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Sentencias SQL ejecutadas por Hibernate durante una solicitud: cantidad, tiempo total en JDBC y cuántas veces se
+ * repitió cada forma de sentencia. Una misma forma repetida muchas veces en una solicitud suele indicar un problema
+ * N+1 (una consulta por cada elemento de una lista en lugar de una sola consulta para todos).
+ * <p>
+ * No es seguro para uso concurrente: cada instancia pertenece al hilo que atiende la solicitud.
+ */
+public class SqlRequestProfile {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+    private int statements;
+    private long jdbcNanos;
+
+    /**
+     * Registra una sentencia preparada por Hibernate.
+     *
+     * @param sql El SQL de la sentencia, con parámetros {@code ?}.
+     */
+    public void recordStatement(String sql) {
+        statements++;
+        shapes.merge(shapeOf(sql), 1, Integer::sum);
+    }
+
+    /**
+     * Suma tiempo de ejecución en JDBC.
+     *
+     * @param nanos Duración en nanosegundos.
+     */
+    public void recordJdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    /**
+     * Obtiene la cantidad de sentencias ejecutadas.
+     *
+     * @return La cantidad de sentencias.
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * Obtiene el tiempo total de ejecución en JDBC.
+     *
+     * @return El tiempo total.
+     */
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /**
+     * Obtiene las formas de sentencia que se ejecutaron al menos la cantidad de veces indicada, de la más repetida
+     * a la menos repetida.
+     *
+     * @param threshold Cantidad mínima de repeticiones.
+     * @return Las formas de sentencia y sus repeticiones.
+     */
+    public Map<String, Integer> repeatedStatements(int threshold) {
+        var repeated = new LinkedHashMap<String, Integer>();
+        shapes.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+
+    /**
+     * Normaliza una sentencia para comparar su forma: unifica los espacios y reduce las listas de parámetros
+     * ({@code in (?, ?, ?)}) a un solo parámetro, de modo que la misma consulta con distinta cantidad de valores
+     * cuente como la misma forma.
+     *
+     * @param sql El SQL de la sentencia.
+     * @return La forma de la sentencia.
+     */
+    static String shapeOf(String sql) {
+        var shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+    }
+}
@@ -1,6 +1,5 @@
 package com.zubigaray.tienda.config.security;
 
-import com.zubigaray.tienda.utils.JwtUtils;
 import java.io.IOException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -31,11 +30,14 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private UserDetailsService userDetailsService;
 
+    @Autowired
+    private TokenVerificationCache tokenVerificationCache;
+
     /**
      * Método principal que se ejecuta para cada solicitud HTTP. Este método:
      * 1. Extrae el token JWT del encabezado de la solicitud.
-     * 2. Valida el token JWT.
-     * 3. Extrae el nombre de usuario del token.
+     * 2. Valida el token JWT y extrae el nombre de usuario, reutilizando la verificación si el token se vio hace poco.
+     * 3. Descarta los tokens inválidos, vencidos o revocados al cerrar sesión.
      * 4. Carga los detalles del usuario utilizando el UserDetailsService.
      * 5. Establece la autenticación en el contexto de seguridad de Spring.
      *
@@ -54,8 +56,9 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
         // Si el token está presente y es válido, procede con la autenticación
         jwtTokenOptional.ifPresent(jwtToken -> {
-            if (JwtUtils.validateToken(jwtToken)) {
-                var userNameOptional = JwtUtils.getUserNameFromToken(jwtToken);
+            var introspection = tokenVerificationCache.introspect(jwtToken);
+            if (introspection.active()) {
+                var userNameOptional = Optional.ofNullable(introspection.subject());
 
                 // Si se puede extraer el nombre de usuario, carga los detalles del usuario y establece la autenticación
                 userNameOptional.ifPresent(userName -> {
@@ -0,0 +1,177 @@
+package com.zubigaray.tienda.config.security;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Filtro que limita la cantidad de solicitudes a los endpoints públicos de autenticación mediante baldes de tokens
+ * por dirección IP y por nombre de usuario. Se ejecuta antes de {@link JWTAuthenticationFilter} y antes de que el
+ * controlador llegue a calcular un BCrypt, por lo que un cliente abusivo no puede consumir la CPU del servidor.
+ * <p>
+ * Los baldes se guardan en un {@link ConcurrentHashMap} (escrituras con bloqueo por segmento, lecturas sin bloqueo)
+ * y cada balde se actualiza con compare-and-set. Los baldes sin uso se eliminan periódicamente.
+ * Las solicitudes rechazadas reciben un 429 (Too Many Requests) con un cuerpo preconstruido y el encabezado Retry-After.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final byte[] TOO_MANY_REQUESTS_BODY = "{\"message\":\"Too many requests\"}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PAYLOAD_TOO_LARGE_BODY = "{\"message\":\"Request body too large\"}".getBytes(StandardCharsets.UTF_8);
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final RateLimitProperties rateLimitProperties;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor para la clase RateLimitFilter.
+     *
+     * @param rateLimitProperties Configuración de los límites por endpoint.
+     */
+    public RateLimitFilter(RateLimitProperties rateLimitProperties) {
+        this.rateLimitProperties = rateLimitProperties;
+    }
+
+    /**
+     * Omite el filtro cuando el limitador está desactivado o el endpoint no tiene límites configurados.
+     *
+     * @param httpServletRequest La solicitud HTTP entrante.
+     * @return {@code true} si la solicitud no debe limitarse.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest httpServletRequest) {
+        return !rateLimitProperties.enabled()
+                || rateLimitProperties.endpoints() == null
+                || !rateLimitProperties.endpoints().containsKey(getPath(httpServletRequest));
+    }
+
+    /**
+     * Aplica primero el límite por IP, que no requiere leer el cuerpo, y luego el límite por nombre de usuario.
+     *
+     * @param httpServletRequest  La solicitud HTTP entrante.
+     * @param httpServletResponse La respuesta HTTP que se enviará al cliente.
+     * @param filterChain         La cadena de filtros a la que se delega la solicitud.
+     * @throws ServletException Si ocurre un error relacionado con el servlet.
+     * @throws IOException      Si ocurre un error de entrada/salida.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest httpServletRequest, HttpServletResponse httpServletResponse, FilterChain filterChain)
+            throws ServletException, IOException {
+        var path = getPath(httpServletRequest);
+        var endpointLimit = rateLimitProperties.endpoints().get(path);
+        var now = System.nanoTime();
+
+        if (endpointLimit.ip() != null) {
+            var bucket = bucket("ip|" + path + "|" + httpServletRequest.getRemoteAddr(), endpointLimit.ip(), now);
+            if (!bucket.tryConsume(now)) {
+                reject(httpServletResponse, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS_BODY, bucket.secondsUntilNextToken(now));
+                return;
+            }
+        }
+
+        var request = httpServletRequest;
+        if (endpointLimit.user() != null) {
+            var body = httpServletRequest.getInputStream().readNBytes(rateLimitProperties.maxBodySize() + 1);
+            if (body.length > rateLimitProperties.maxBodySize()) {
+                reject(httpServletResponse, HttpStatus.PAYLOAD_TOO_LARGE, PAYLOAD_TOO_LARGE_BODY, -1);
+                return;
+            }
+            request = new CachedBodyHttpServletRequest(httpServletRequest, body);
+
+            var userName = extractUserName(body);
+            if (userName != null) {
+                var bucket = bucket("user|" + path + "|" + userName.toLowerCase(Locale.ROOT), endpointLimit.user(), now);
+                if (!bucket.tryConsume(now)) {
+                    reject(httpServletResponse, HttpStatus.TOO_MANY_REQUESTS, TOO_MANY_REQUESTS_BODY, bucket.secondsUntilNextToken(now));
+                    return;
+                }
+            }
+        }
+
+        filterChain.doFilter(request, httpServletResponse);
+    }
+
+    /**
+     * Elimina los baldes que no se usaron durante el tiempo de inactividad configurado.
+     */
+    @Scheduled(fixedDelayString = "${tienda.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        var cutoff = System.nanoTime() - rateLimitProperties.idleTimeout().toNanos();
+        buckets.values().removeIf(bucket -> bucket.getLastAccessNanos() - cutoff < 0);
+    }
+
+    int bucketCount() {
+        return buckets.size();
+    }
+
+    private TokenBucket bucket(String key, RateLimitProperties.BucketLimit limit, long now) {
+        return buckets.computeIfAbsent(key, k -> new TokenBucket(limit.capacity(), limit.refillPerSecond(), now));
+    }
+
+    /**
+     * Busca el campo {@code userName} en el primer nivel del cuerpo JSON sin construir un árbol de objetos.
+     *
+     * @param body El cuerpo de la solicitud.
+     * @return El nombre de usuario, o {@code null} si no está presente o el cuerpo no es JSON válido.
+     */
+    private static String extractUserName(byte[] body) {
+        try (var parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            JsonToken token;
+            while ((token = parser.nextToken()) == JsonToken.FIELD_NAME) {
+                var fieldName = parser.currentName();
+                token = parser.nextToken();
+                if ("userName".equals(fieldName)) {
+                    return token == JsonToken.VALUE_STRING ? parser.getText() : null;
+                }
+                parser.skipChildren();
+            }
+        } catch (IOException e) {
+            // Un cuerpo inválido no se limita por usuario; el controlador lo rechazará
+        }
+        return null;
+    }
+
+    private static void reject(HttpServletResponse httpServletResponse, HttpStatus status, byte[] body, long retryAfterSeconds)
+            throws IOException {
+        httpServletResponse.setStatus(status.value());
+        if (retryAfterSeconds >= 0) {
+            httpServletResponse.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, retryAfterSeconds)));
+        }
+        httpServletResponse.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        httpServletResponse.setContentLength(body.length);
+        httpServletResponse.getOutputStream().write(body);
+    }
+
+    /**
+     * Obtiene la ruta de la solicitud dentro de la aplicación tal como la resuelve Spring MVC: decodificada, sin
+     * contenido tras {@code ;} y sin barras repetidas. También quita la barra final. Así, variantes como
+     * {@code /api/auth/%6Cogin}, {@code /api/auth//login} o {@code /api/auth/login/}, que llegan al mismo
+     * controlador, usan los límites y los baldes de {@code /api/auth/login}.
+     *
+     * @param httpServletRequest La solicitud HTTP entrante.
+     * @return La ruta normalizada.
+     */
+    private static String getPath(HttpServletRequest httpServletRequest) {
+        var path = UrlPathHelper.defaultInstance.getPathWithinApplication(httpServletRequest);
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+}
@@ -0,0 +1,55 @@
+package com.zubigaray.tienda.config.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuración del limitador de solicitudes de los endpoints de autenticación ({@code tienda.rate-limit.*}).
+ * Los límites se definen por endpoint, por ejemplo:
+ * <pre>
+ * tienda.rate-limit.endpoints[/api/auth/login].ip.capacity=20
+ * tienda.rate-limit.endpoints[/api/auth/login].ip.refill-per-second=1
+ * tienda.rate-limit.endpoints[/api/auth/login].user.capacity=5
+ * tienda.rate-limit.endpoints[/api/auth/login].user.refill-per-second=0.1
+ * </pre>
+ *
+ * @param enabled     Indica si el limitador está activo.
+ * @param idleTimeout Tiempo sin uso tras el cual se descarta el balde de una clave.
+ * @param maxBodySize Tamaño máximo del cuerpo que se lee para obtener el nombre de usuario.
+ * @param endpoints   Límites por ruta de endpoint.
+ */
+@ConfigurationProperties("tienda.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration idleTimeout,
+        @DefaultValue("4096") int maxBodySize,
+        Map<String, EndpointLimit> endpoints
+) {
+
+    /**
+     * Límites de un endpoint. Cualquiera de los dos puede omitirse para no limitar por ese criterio.
+     *
+     * @param ip   Límite por dirección IP del cliente.
+     * @param user Límite por nombre de usuario ({@code userName} del cuerpo de la solicitud).
+     */
+    public record EndpointLimit(
+            BucketLimit ip,
+            BucketLimit user
+    ) {
+    }
+
+    /**
+     * Parámetros de un balde de tokens.
+     *
+     * @param capacity        Cantidad máxima de solicitudes en ráfaga.
+     * @param refillPerSecond Tokens que se recuperan por segundo.
+     */
+    public record BucketLimit(
+            int capacity,
+            double refillPerSecond
+    ) {
+    }
+}
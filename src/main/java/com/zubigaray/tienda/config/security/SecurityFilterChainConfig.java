@@ -1,7 +1,9 @@
 package com.zubigaray.tienda.config.security;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
@@ -16,31 +18,38 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  * de autenticación y la adición de filtros personalizados.
  */
 @Configuration
+@EnableConfigurationProperties({RateLimitProperties.class, TokenCacheProperties.class, TokenDenylistProperties.class})
 public class SecurityFilterChainConfig {
 
     private final AuthenticationEntryPoint authenticationEntryPoint;
     private final JWTAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
     /**
      * Constructor para la clase SecurityFilterChainConfig.
      *
      * @param authenticationEntryPoint Punto de entrada para manejar excepciones de autenticación.
      * @param jwtAuthenticationFilter  Filtro personalizado para la autenticación basada en JWT.
+     * @param rateLimitFilter          Filtro que limita la cantidad de solicitudes a los endpoints de autenticación.
      */
-    public SecurityFilterChainConfig(AuthenticationEntryPoint authenticationEntryPoint, JWTAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityFilterChainConfig(AuthenticationEntryPoint authenticationEntryPoint, JWTAuthenticationFilter jwtAuthenticationFilter,
+                                     RateLimitFilter rateLimitFilter) {
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     /**
      * Configura y devuelve un bean de tipo SecurityFilterChain.
      * Este método define las reglas de seguridad para la aplicación, incluyendo:
      * - Deshabilitación de CORS y CSRF.
-     * - Autorización de endpoints públicos (como login y registro).
+     * - Autorización de endpoints públicos (como login, registro y verificación de tokens).
+     * - Restricción de las operaciones de mantenimiento y de las exportaciones al rol ADMIN.
      * - Exigencia de autenticación para el resto de los endpoints.
      * - Manejo de excepciones de autenticación.
-     * - Configuración de la política de creación de sesiones.
+     * - Política de sesiones sin estado (no se crean sesiones HTTP).
      * - Adición de un filtro personalizado para la autenticación JWT.
+     * - Adición del limitador de solicitudes antes del filtro JWT.
      *
      * @param httpSecurity Objeto HttpSecurity utilizado para configurar la seguridad.
      * @return Un objeto SecurityFilterChain configurado.
@@ -57,6 +66,10 @@ public class SecurityFilterChainConfig {
                 requestMatcher -> requestMatcher
                         .requestMatchers("/api/auth/login/**").permitAll() // Permite acceso público al endpoint de login
                         .requestMatchers("/api/auth/register/**").permitAll() // Permite acceso público al endpoint de registro
+                        .requestMatchers("/api/auth/introspect/**").permitAll() // Verificación de tokens para el gateway, que no tiene token propio
+                        .requestMatchers(HttpMethod.POST, "/api/reports/rollups/rebuild").hasRole("ADMIN") // Recalcular acumulados borra y reescribe un rango completo
+                        .requestMatchers(HttpMethod.POST, "/api/products/*/restock").hasRole("ADMIN") // Reponer stock también dispara las alertas de stock recuperado
+                        .requestMatchers("/api/exports/**").hasRole("ADMIN") // Las exportaciones incluyen los pedidos de todos los clientes
                         .anyRequest().authenticated() // Exige autenticación para cualquier otro endpoint
         );
 
@@ -65,14 +78,17 @@ public class SecurityFilterChainConfig {
                 exceptionConfig -> exceptionConfig.authenticationEntryPoint(authenticationEntryPoint)
         );
 
-        // Configura la política de creación de sesiones
+        // Sin sesiones HTTP: cada solicitud se autentica con su token JWT
         httpSecurity.sessionManagement(
-                sessionConfig -> sessionConfig.sessionCreationPolicy(SessionCreationPolicy.IF_REQUIRED)
+                sessionConfig -> sessionConfig.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
         );
 
         // Agrega el filtro personalizado de JWT antes del filtro de autenticación de usuario y contraseña
         httpSecurity.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
+        // Agrega el limitador de solicitudes antes del filtro de JWT, para rechazar el abuso antes de cualquier otro trabajo
+        httpSecurity.addFilterBefore(rateLimitFilter, JWTAuthenticationFilter.class);
+
         // Construye y devuelve la cadena de filtros de seguridad
         return httpSecurity.build();
     }
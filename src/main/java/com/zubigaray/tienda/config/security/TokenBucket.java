@@ -0,0 +1,75 @@
+package com.zubigaray.tienda.config.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Balde de tokens sin bloqueos. El estado (tokens disponibles y momento de la última recarga) es inmutable y se
+ * reemplaza con compare-and-set, por lo que las solicitudes concurrentes de la misma clave nunca esperan un lock.
+ */
+class TokenBucket {
+
+    private final int capacity;
+    private final double refillPerNano;
+    private final AtomicReference<State> state;
+    private volatile long lastAccessNanos;
+
+    /**
+     * Constructor para la clase TokenBucket. El balde comienza lleno.
+     *
+     * @param capacity        Cantidad máxima de tokens.
+     * @param refillPerSecond Tokens que se recuperan por segundo.
+     * @param nowNanos        Momento actual, en nanosegundos.
+     */
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+        this.lastAccessNanos = nowNanos;
+    }
+
+    /**
+     * Intenta consumir un token.
+     *
+     * @param nowNanos Momento actual, en nanosegundos.
+     * @return {@code true} si había un token disponible; {@code false} si la solicitud debe rechazarse.
+     */
+    boolean tryConsume(long nowNanos) {
+        lastAccessNanos = nowNanos;
+        while (true) {
+            var current = state.get();
+            var elapsed = Math.max(0, nowNanos - current.refilledAtNanos());
+            var tokens = Math.min(capacity, current.tokens() + elapsed * refillPerNano);
+            if (tokens < 1) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(tokens - 1, nowNanos))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Calcula los segundos que faltan para que haya un token disponible.
+     *
+     * @param nowNanos Momento actual, en nanosegundos.
+     * @return Los segundos de espera, redondeados hacia arriba, o -1 si el balde no se recarga.
+     */
+    long secondsUntilNextToken(long nowNanos) {
+        if (refillPerNano <= 0) {
+            return -1;
+        }
+        var current = state.get();
+        var tokens = current.tokens() + Math.max(0, nowNanos - current.refilledAtNanos()) * refillPerNano;
+        if (tokens >= 1) {
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / refillPerNano / 1_000_000_000d);
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.zubigaray.tienda.config.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché de verificaciones de tokens JWT ({@code tienda.auth.token-cache.*}).
+ *
+ * @param maxEntries        Cantidad máxima de tokens válidos recordados; al alcanzarla, los tokens válidos nuevos se
+ *                          verifican sin guardarse.
+ * @param maxInvalidEntries Cantidad máxima de tokens inválidos recordados. Es un cupo aparte y más chico, para que los
+ *                          tokens basura enviados al endpoint público de verificación no ocupen el lugar de los válidos.
+ * @param ttl               Tiempo máximo que se recuerda un token válido; nunca se recuerda más allá de su vencimiento.
+ * @param invalidTtl        Tiempo que se recuerda un token inválido, para no volver a verificar su firma en cada solicitud.
+ */
+@ConfigurationProperties("tienda.auth.token-cache")
+public record TokenCacheProperties(
+        @DefaultValue("10000") int maxEntries,
+        @DefaultValue("1000") int maxInvalidEntries,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("30s") Duration invalidTtl
+) {
+}
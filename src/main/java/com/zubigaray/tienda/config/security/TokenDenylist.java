@@ -0,0 +1,207 @@
+package com.zubigaray.tienda.config.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lista de los tokens revocados (por ejemplo al cerrar sesión), identificados por su {@code jti}. El registro compartido
+ * entre las instancias es la tabla {@code revoked_tokens}; cada instancia guarda una copia en memoria que consulta en
+ * cada solicitud.
+ * <p>
+ * Cada solicitud autenticada consulta la lista, y casi ningún token está revocado, por lo que la consulta empieza por
+ * un filtro de Bloom: si el filtro descarta el {@code jti}, el token no está revocado sin tocar ningún mapa. Solo cuando
+ * el filtro no lo descarta se consulta el conjunto exacto ({@code jti} con su vencimiento), que resuelve los falsos
+ * positivos. Las consultas no toman bloqueos ni acceden a la base de datos.
+ * <p>
+ * Una revocación se escribe en la tabla y se aplica enseguida en la instancia que la recibió. La limpieza periódica
+ * borra de la tabla los tokens vencidos (un token revocado solo necesita recordarse hasta su vencimiento, porque a
+ * partir de ahí se rechaza igual) y recarga el conjunto exacto y el filtro, que no admite borrados, con los que quedan;
+ * así las demás instancias aplican una revocación como mucho un intervalo de limpieza después.
+ * Las escrituras y lecturas de la tabla se hacen fuera de los bloques sincronizados.
+ * <p>
+ * Expone las métricas {@code tienda.auth.denylist.size} y {@code tienda.auth.denylist.checks} (por {@code result}:
+ * filtered, false-positive o revoked).
+ */
+@Component
+public class TokenDenylist {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenDenylist.class);
+    private static final String INSERT_SQL = "insert into revoked_tokens (jti, expires_at) values (?, ?)";
+    private static final String DELETE_EXPIRED_SQL = "delete from revoked_tokens where expires_at <= ?";
+    private static final String SELECT_SQL = "select jti, expires_at from revoked_tokens";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Map<String, Long> revoked = new ConcurrentHashMap<>(); // jti -> vencimiento en milisegundos
+    private final int bits;
+    private final int hashes;
+    private volatile AtomicLongArray filter;
+
+    private final Counter filtered;
+    private final Counter falsePositives;
+    private final Counter hits;
+
+    /**
+     * Constructor para la clase TokenDenylist. Dimensiona el filtro de Bloom según la cantidad esperada de tokens
+     * revocados y la proporción de falsos positivos configuradas.
+     *
+     * @param properties    Configuración de la lista.
+     * @param jdbcTemplate  Acceso a la tabla {@code revoked_tokens}, compartida entre las instancias.
+     * @param meterRegistry Registro de métricas.
+     */
+    public TokenDenylist(TokenDenylistProperties properties, JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        var expected = Math.max(1, properties.expectedRevocations());
+        var optimalBits = -expected * Math.log(properties.falsePositiveRate()) / (Math.log(2) * Math.log(2));
+        this.bits = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, Math.ceil(optimalBits)));
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expected * Math.log(2)));
+        this.filter = newFilter();
+
+        this.filtered = Counter.builder("tienda.auth.denylist.checks").tag("result", "filtered")
+                .description("Token checks answered by the Bloom filter alone").register(meterRegistry);
+        this.falsePositives = Counter.builder("tienda.auth.denylist.checks").tag("result", "false-positive")
+                .description("Token checks the Bloom filter passed on to the exact set that were not revoked").register(meterRegistry);
+        this.hits = Counter.builder("tienda.auth.denylist.checks").tag("result", "revoked")
+                .description("Token checks that found a revoked token").register(meterRegistry);
+        Gauge.builder("tienda.auth.denylist.size", this, TokenDenylist::size)
+                .description("Revoked tokens that have not expired yet").register(meterRegistry);
+    }
+
+    /**
+     * Revoca un token hasta su vencimiento, en todas las instancias. Un token ya vencido no se registra.
+     *
+     * @param tokenId   El {@code jti} del token.
+     * @param expiresAt El vencimiento del token.
+     * @throws DataAccessException Si no se pudo registrar la revocación en la base de datos.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        var expiresAtMillis = expiresAt.toEpochMilli();
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, tokenId, Timestamp.from(expiresAt));
+        } catch (DuplicateKeyException alreadyRevoked) {
+            // Otra solicitud ya lo revocó, quizás en otra instancia
+        }
+        synchronized (this) {
+            revoked.put(tokenId, expiresAtMillis);
+            add(filter, tokenId);
+        }
+    }
+
+    /**
+     * Indica si un token está revocado.
+     *
+     * @param tokenId El {@code jti} del token.
+     * @return {@code true} si el token fue revocado y todavía no venció.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (!mightContain(filter, tokenId)) {
+            filtered.increment();
+            return false;
+        }
+        var expiresAtMillis = revoked.get(tokenId);
+        if (expiresAtMillis == null || expiresAtMillis <= System.currentTimeMillis()) {
+            falsePositives.increment();
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * Borra de la tabla los tokens vencidos y recarga el conjunto exacto y el filtro de Bloom con los que siguen
+     * revocados, incluidas las revocaciones recibidas por las demás instancias. Si la base de datos no responde, se
+     * conservan los datos actuales sin los vencidos.
+     */
+    @Scheduled(fixedDelayString = "${tienda.auth.denylist.sweep-interval-ms:10000}")
+    public void sweep() {
+        var now = System.currentTimeMillis();
+        var current = new HashMap<String, Long>();
+        try {
+            jdbcTemplate.update(DELETE_EXPIRED_SQL, new Timestamp(now));
+            jdbcTemplate.query(SELECT_SQL, resultSet -> {
+                current.put(resultSet.getString(1), resultSet.getTimestamp(2).getTime());
+            });
+        } catch (DataAccessException e) {
+            log.warn("Could not refresh the revoked tokens, keeping the local copy", e);
+        }
+
+        synchronized (this) {
+            // Conserva las revocaciones locales que la consulta no llegó a ver
+            revoked.forEach(current::putIfAbsent);
+            current.values().removeIf(expiresAtMillis -> expiresAtMillis <= now);
+            var rebuilt = newFilter();
+            current.keySet().forEach(tokenId -> add(rebuilt, tokenId));
+            revoked = new ConcurrentHashMap<>(current);
+            filter = rebuilt;
+        }
+    }
+
+    int size() {
+        return revoked.size();
+    }
+
+    private AtomicLongArray newFilter() {
+        return new AtomicLongArray((bits + 63) / 64);
+    }
+
+    private void add(AtomicLongArray target, String tokenId) {
+        var hash1 = hash(tokenId);
+        var hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            var bit = (int) Long.remainderUnsigned(hash1 + i * hash2, bits);
+            target.accumulateAndGet(bit >>> 6, 1L << bit, (word, mask) -> word | mask);
+        }
+    }
+
+    private boolean mightContain(AtomicLongArray target, String tokenId) {
+        var hash1 = hash(tokenId);
+        var hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            var bit = (int) Long.remainderUnsigned(hash1 + i * hash2, bits);
+            if ((target.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long hash(String value) {
+        long hash = 1125899906842597L;
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Mezcla final de MurmurHash3, para que cada bit del resultado dependa de todos los bits de la entrada.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,18 @@
+package com.zubigaray.tienda.config.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuración de la lista de tokens revocados ({@code tienda.auth.denylist.*}).
+ *
+ * @param expectedRevocations Cantidad de tokens revocados vigentes para la que se dimensiona el filtro de Bloom.
+ *                            Superarla no produce errores, solo más consultas al conjunto exacto.
+ * @param falsePositiveRate   Proporción buscada de tokens válidos que el filtro de Bloom no logra descartar.
+ */
+@ConfigurationProperties("tienda.auth.denylist")
+public record TokenDenylistProperties(
+        @DefaultValue("100000") int expectedRevocations,
+        @DefaultValue("0.01") double falsePositiveRate
+) {
+}
@@ -0,0 +1,137 @@
+package com.zubigaray.tienda.config.security;
+
+import com.zubigaray.tienda.dto.TokenIntrospectionDto;
+import com.zubigaray.tienda.utils.JwtUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caché acotada de los resultados de verificar tokens JWT, compartida por {@link JWTAuthenticationFilter} y el
+ * endpoint de verificación por lotes. Un cliente envía el mismo token en cada solicitud hasta que vence, por lo que
+ * recordar el resultado evita recalcular la firma una y otra vez.
+ * <p>
+ * Un token válido se recuerda como máximo {@code ttl} y nunca más allá de su vencimiento; uno inválido, durante
+ * {@code invalidTtl}. Los tokens válidos e inválidos tienen cupos separados ({@code maxEntries} y
+ * {@code maxInvalidEntries}): el endpoint de verificación es público, y una ráfaga de tokens basura solo puede llenar
+ * el cupo de inválidos, sin impedir que se recuerden los tokens reales. Al alcanzar un cupo, los tokens nuevos de ese
+ * tipo se verifican sin guardarse hasta que la limpieza periódica libere lugar, de modo que la memoria no crece.
+ * La revocación se comprueba en {@link TokenDenylist} en cada consulta, también para los resultados recordados.
+ * Expone las métricas {@code tienda.auth.token-cache.requests} (por {@code result}: hit o miss) y
+ * {@code tienda.auth.token-cache.size} (por {@code state}: active o inactive).
+ */
+@Component
+public class TokenVerificationCache {
+
+    private final TokenCacheProperties properties;
+    private final TokenDenylist tokenDenylist;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Entry> invalidEntries = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * Constructor para la clase TokenVerificationCache.
+     *
+     * @param properties    Configuración de la caché.
+     * @param tokenDenylist Lista de tokens revocados.
+     * @param meterRegistry Registro de métricas.
+     */
+    public TokenVerificationCache(TokenCacheProperties properties, TokenDenylist tokenDenylist, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tokenDenylist = tokenDenylist;
+        this.hits = Counter.builder("tienda.auth.token-cache.requests").tag("result", "hit")
+                .description("Token verifications served from the cache").register(meterRegistry);
+        this.misses = Counter.builder("tienda.auth.token-cache.requests").tag("result", "miss")
+                .description("Token verifications that had to check the signature").register(meterRegistry);
+        Gauge.builder("tienda.auth.token-cache.size", entries, Map::size).tag("state", "active")
+                .description("Tokens currently remembered").register(meterRegistry);
+        Gauge.builder("tienda.auth.token-cache.size", invalidEntries, Map::size).tag("state", "inactive")
+                .description("Tokens currently remembered").register(meterRegistry);
+    }
+
+    /**
+     * Verifica un token, reutilizando el resultado si el token se verificó recientemente.
+     *
+     * @param token El token JWT a verificar.
+     * @return El resultado de la verificación; inactivo si el token fue revocado.
+     */
+    public TokenIntrospectionDto introspect(String token) {
+        var result = verify(token);
+        if (result.active() && tokenDenylist.isRevoked(result.tokenId())) {
+            return TokenIntrospectionDto.INACTIVE;
+        }
+        return result;
+    }
+
+    private TokenIntrospectionDto verify(String token) {
+        if (token == null) {
+            return TokenIntrospectionDto.INACTIVE;
+        }
+        var now = System.currentTimeMillis();
+        var cached = entries.get(token);
+        if (cached == null) {
+            cached = invalidEntries.get(token);
+        }
+        if (cached != null && cached.expiresAtMillis() > now) {
+            hits.increment();
+            return cached.result();
+        }
+        misses.increment();
+
+        var result = JwtUtils.introspect(token);
+        if (result.active()) {
+            var expiresAtMillis = now + properties.ttl().toMillis();
+            if (result.expiresAt() != null) {
+                expiresAtMillis = Math.min(expiresAtMillis, result.expiresAt().toEpochMilli());
+            }
+            remember(entries, properties.maxEntries(), token, new Entry(result, expiresAtMillis), now);
+        } else {
+            remember(invalidEntries, properties.maxInvalidEntries(), token,
+                    new Entry(result, now + properties.invalidTtl().toMillis()), now);
+        }
+        return result;
+    }
+
+    /**
+     * Guarda un resultado si todavía no venció y hay lugar en su cupo. Un token que ya estaba guardado siempre se
+     * actualiza, aunque el cupo esté lleno.
+     *
+     * @param target     Los resultados del mismo tipo (válidos o inválidos).
+     * @param maxEntries El cupo de {@code target}.
+     * @param token      El token verificado.
+     * @param entry      El resultado a guardar.
+     * @param now        El instante actual, en milisegundos.
+     */
+    private static void remember(Map<String, Entry> target, int maxEntries, String token, Entry entry, long now) {
+        if (entry.expiresAtMillis() > now && (target.containsKey(token) || target.size() < maxEntries)) {
+            target.put(token, entry);
+        }
+    }
+
+    /**
+     * Elimina los resultados vencidos.
+     */
+    @Scheduled(fixedDelayString = "${tienda.auth.token-cache.eviction-interval-ms:30000}")
+    public void evictExpired() {
+        var now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+        invalidEntries.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int invalidSize() {
+        return invalidEntries.size();
+    }
+
+    private record Entry(TokenIntrospectionDto result, long expiresAtMillis) {
+    }
+}
@@ -2,18 +2,27 @@ package com.zubigaray.tienda.controller;
 
 import com.zubigaray.tienda.dto.AuthRequestDto;
 import com.zubigaray.tienda.dto.AuthResponseDto;
+import com.zubigaray.tienda.dto.AuthResultDto;
+import com.zubigaray.tienda.dto.TokenIntrospectionDto;
+import com.zubigaray.tienda.dto.TokenIntrospectionRequestDto;
+import com.zubigaray.tienda.enums.AuthOutcome;
 import com.zubigaray.tienda.enums.AuthStatus;
 import com.zubigaray.tienda.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
 
 /**
  * Controlador REST para manejar las solicitudes relacionadas con la autenticación de usuarios.
- * Proporciona endpoints para el inicio de sesión y registro de usuarios.
+ * Proporciona endpoints para el inicio de sesión, el registro de usuarios, el cierre de sesión y la verificación de tokens.
  */
 @RestController
 @RequestMapping("/api/auth/")
@@ -21,6 +30,17 @@ import org.springframework.web.bind.annotation.*;
 @CrossOrigin
 public class AuthController {
 
+    /**
+     * Respuestas de error preconstruidas por resultado, para que un fallo de autenticación no cree objetos nuevos.
+     */
+    private static final Map<AuthOutcome, ResponseEntity<AuthResponseDto>> FAILURE_RESPONSES = failureResponses();
+    private static final ResponseEntity<AuthResponseDto> LOGIN_ERROR_RESPONSE = ResponseEntity
+            .status(HttpStatus.UNAUTHORIZED)
+            .body(new AuthResponseDto(null, AuthStatus.LOGIN_FAILED, "Login failed"));
+    private static final ResponseEntity<AuthResponseDto> SIGN_UP_ERROR_RESPONSE = ResponseEntity
+            .status(HttpStatus.CONFLICT)
+            .body(new AuthResponseDto(null, AuthStatus.USER_NOT_CREATED, "User could not be registered"));
+
     @Autowired
     private AuthService authService;
 
@@ -35,25 +55,9 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<AuthResponseDto> login(@RequestBody AuthRequestDto authRequestDto) {
         try {
-            var jwtToken = authService.login(authRequestDto.userName(), authRequestDto.password());
-
-            var authResponseDto = new AuthResponseDto(jwtToken, AuthStatus.LOGIN_SUCCESS, "Login successful");
-
-            return ResponseEntity.status(HttpStatus.OK).body(authResponseDto);
+            return toResponse(authService.login(authRequestDto.userName(), authRequestDto.password()));
         } catch (Exception e) {
-            String errorMessage = e.getMessage();
-            AuthStatus status = AuthStatus.LOGIN_FAILED;
-
-            if (e.getMessage().contains("Bad credentials")) {
-                errorMessage = "The username or password is incorrect";
-            } else if (e.getMessage().contains("User not found")) {
-                errorMessage = "User not found";
-            }
-            var authResponseDto = new AuthResponseDto(null, status, errorMessage);
-
-            return ResponseEntity
-                    .status(HttpStatus.UNAUTHORIZED)
-                    .body(authResponseDto);
+            return LOGIN_ERROR_RESPONSE;
         }
     }
 
@@ -68,26 +72,70 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity<AuthResponseDto> signUp(@RequestBody AuthRequestDto authRequestDto) {
         try {
-            var jwtToken = authService.signUp(authRequestDto.name(), authRequestDto.userName(), authRequestDto.password(), authRequestDto.mail());
-            var authResponseDto = new AuthResponseDto(jwtToken, AuthStatus.USER_CREATED_SUCCESSFULLY, "User registered successfully");
-            return ResponseEntity
-                    .status(HttpStatus.OK)
-                    .body(authResponseDto);
+            return toResponse(authService.signUp(authRequestDto.name(), authRequestDto.userName(), authRequestDto.password(), authRequestDto.mail()));
         } catch (Exception e) {
-            String errorMessage = e.getMessage();
-            AuthStatus status = AuthStatus.USER_NOT_CREATED;
+            return SIGN_UP_ERROR_RESPONSE;
+        }
+    }
 
-            if (e.getMessage().contains("Username already exist")) {
-                errorMessage = "The username is already in use";
-            } else if (e.getMessage().contains("Email already exist")) {
-                errorMessage = "Email is already in use";
-            }
+    /**
+     * Cierra la sesión del usuario revocando el token con el que se autenticó la solicitud.
+     *
+     * @param authorization Encabezado {@code Authorization} de la solicitud, con el formato {@code Bearer <token>}.
+     * @return Una respuesta {@link ResponseEntity} sin cuerpo con un código de estado HTTP 204 (NO_CONTENT) si el token
+     *         se revocó, o 401 (UNAUTHORIZED) si el token no es válido.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        if (!authorization.startsWith("Bearer ") || !authService.logout(authorization.substring(7))) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+    }
 
-            var authResponseDto = new AuthResponseDto(null, status, errorMessage);
+    /**
+     * Verifica varios tokens de acceso en una sola llamada, pensado para que el API gateway valide los tokens de forma
+     * centralizada.
+     *
+     * @param requestDto Objeto {@link TokenIntrospectionRequestDto} con los tokens a verificar.
+     * @return Una respuesta {@link ResponseEntity} con un {@link TokenIntrospectionDto} por token, en el mismo orden,
+     *         y un código de estado HTTP 200 (OK). Si no se enviaron tokens o se superó la cantidad máxima por
+     *         solicitud, devuelve un código de estado HTTP 400 (BAD_REQUEST).
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<List<TokenIntrospectionDto>> introspect(@RequestBody TokenIntrospectionRequestDto requestDto) {
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(authService.introspect(requestDto.tokens()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+    }
 
-            return ResponseEntity
-                    .status(HttpStatus.CONFLICT)
-                    .body(authResponseDto);
+    /**
+     * Convierte el resultado del servicio en la respuesta HTTP. Los fallos usan las respuestas preconstruidas.
+     *
+     * @param result El resultado del inicio de sesión o registro.
+     * @return La respuesta correspondiente al resultado.
+     */
+    private static ResponseEntity<AuthResponseDto> toResponse(AuthResultDto result) {
+        var outcome = result.outcome();
+        if (!outcome.isSuccess()) {
+            return FAILURE_RESPONSES.get(outcome);
+        }
+        return ResponseEntity
+                .status(outcome.getHttpStatus())
+                .body(new AuthResponseDto(result.token(), outcome.getAuthStatus(), outcome.getMessage()));
+    }
+
+    private static Map<AuthOutcome, ResponseEntity<AuthResponseDto>> failureResponses() {
+        var responses = new EnumMap<AuthOutcome, ResponseEntity<AuthResponseDto>>(AuthOutcome.class);
+        for (var outcome : AuthOutcome.values()) {
+            if (!outcome.isSuccess()) {
+                responses.put(outcome, ResponseEntity
+                        .status(outcome.getHttpStatus())
+                        .body(new AuthResponseDto(null, outcome.getAuthStatus(), outcome.getMessage())));
+            }
         }
+        return responses;
     }
 }
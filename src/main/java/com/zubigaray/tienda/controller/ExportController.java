@@ -0,0 +1,64 @@
+package com.zubigaray.tienda.controller;
+
+import com.zubigaray.tienda.enums.ExportFormat;
+import com.zubigaray.tienda.service.OrderExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+
+/**
+ * Controlador REST para las exportaciones de datos destinadas a contabilidad.
+ */
+@RestController
+@RequestMapping("/api/exports/")
+@RequiredArgsConstructor
+@CrossOrigin
+public class ExportController {
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Value("${tienda.export.timeout:30m}")
+    private Duration exportTimeout;
+
+    /**
+     * Exporta los pedidos de un rango de fechas con un renglón por detalle de pedido.
+     * La respuesta se escribe a medida que se leen las filas (codificación chunked), sin conocer su tamaño de antemano.
+     * El tiempo máximo de la respuesta es {@code tienda.export.timeout} en lugar del de las solicitudes asíncronas.
+     *
+     * @param from    Fecha de inicio (inclusive), en formato ISO.
+     * @param to      Fecha de fin (exclusive), en formato ISO.
+     * @param format  Formato de la exportación (CSV o NDJSON). Por defecto CSV.
+     * @param request La solicitud HTTP, cuyo procesamiento asíncrono recibe el tiempo máximo de la exportación.
+     * @return Una respuesta {@link ResponseEntity} cuyo cuerpo se escribe en streaming.
+     */
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            HttpServletRequest request) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(exportTimeout.toMillis());
+        StreamingResponseBody body = outputStream -> orderExportService.export(from, to, format, outputStream);
+
+        var fileName = "orders-" + from + "-" + to + "." + format.getExtension();
+        return ResponseEntity
+                .status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+}
@@ -0,0 +1,63 @@
+package com.zubigaray.tienda.controller;
+
+import com.zubigaray.tienda.dto.OrderHistoryDto;
+import com.zubigaray.tienda.dto.OrderResponseDto;
+import com.zubigaray.tienda.service.OrderHistoryService;
+import com.zubigaray.tienda.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+
+/**
+ * Controlador REST para manejar las solicitudes relacionadas con los pedidos del usuario autenticado.
+ */
+@RestController
+@RequestMapping("/api/orders/")
+@RequiredArgsConstructor
+@CrossOrigin
+public class OrderController {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    /**
+     * Confirma la compra de los productos que el usuario autenticado tiene en su carrito.
+     *
+     * @param authentication La autenticación del usuario que realiza la compra.
+     * @return Una respuesta {@link ResponseEntity} con un objeto {@link OrderResponseDto}. Si la compra es exitosa,
+     *         devuelve un código de estado HTTP 200 (OK). Si falla, devuelve un código de estado HTTP 409 (CONFLICT).
+     */
+    @PostMapping("/checkout")
+    public ResponseEntity<OrderResponseDto> checkout(Authentication authentication) {
+        try {
+            var order = orderService.checkout(authentication.getName());
+            var orderResponseDto = new OrderResponseDto(order.getId(), order.getDate(), order.getTotalPrice(), "Order created successfully");
+            return ResponseEntity.status(HttpStatus.OK).body(orderResponseDto);
+        } catch (Exception e) {
+            var orderResponseDto = new OrderResponseDto(null, null, null, e.getMessage());
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(orderResponseDto);
+        }
+    }
+
+    /**
+     * Devuelve el historial de pedidos del usuario autenticado, incluyendo los pedidos archivados.
+     *
+     * @param authentication La autenticación del usuario.
+     * @return Una respuesta {@link ResponseEntity} con la lista de pedidos, del más reciente al más antiguo.
+     */
+    @GetMapping("/history")
+    public ResponseEntity<List<OrderHistoryDto>> history(Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.OK).body(orderHistoryService.findByUser(authentication.getName()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.zubigaray.tienda.controller;
+
+import com.zubigaray.tienda.dto.ProductDto;
+import com.zubigaray.tienda.dto.ProductPageDto;
+import com.zubigaray.tienda.service.LowStockAlertService;
+import com.zubigaray.tienda.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+
+/**
+ * Controlador REST para manejar las solicitudes relacionadas con el catálogo de productos y su stock.
+ */
+@RestController
+@RequestMapping("/api/products/")
+@RequiredArgsConstructor
+@CrossOrigin
+public class ProductController {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private LowStockAlertService lowStockAlertService;
+
+    /**
+     * Lista los productos del catálogo de forma paginada.
+     *
+     * @param pageable La página solicitada. Por defecto 20 productos ordenados por identificador.
+     * @return Una respuesta {@link ResponseEntity} con la página de productos.
+     */
+    @GetMapping
+    public ResponseEntity<ProductPageDto> list(@PageableDefault(size = 20, sort = "id") Pageable pageable) {
+        var page = productService.listProducts(pageable);
+        return ResponseEntity.status(HttpStatus.OK).body(new ProductPageDto(
+                page.getContent(), page.getNumber(), page.getSize(), page.getTotalElements(), page.getTotalPages()));
+    }
+
+    /**
+     * Repone stock de un producto.
+     *
+     * @param productId Identificador del producto.
+     * @param quantity  Cantidad de unidades a agregar.
+     * @return Una respuesta {@link ResponseEntity} con el producto actualizado. Si falla, devuelve un código de estado HTTP 409 (CONFLICT).
+     */
+    @PostMapping("/{productId}/restock")
+    public ResponseEntity<ProductDto> restock(@PathVariable Long productId, @RequestParam int quantity) {
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(productService.restock(productId, quantity));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Abre una conexión Server-Sent Events por la que se envían las alertas de stock bajo.
+     *
+     * @return El emisor SSE de la conexión.
+     */
+    @GetMapping(path = "/alerts/low-stock", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter lowStockAlerts() {
+        return lowStockAlertService.subscribe();
+    }
+}
@@ -0,0 +1,78 @@
+package com.zubigaray.tienda.controller;
+
+import com.zubigaray.tienda.dto.SalesRollupDto;
+import com.zubigaray.tienda.enums.RollupGranularity;
+import com.zubigaray.tienda.service.SalesRollupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+/**
+ * Controlador REST para los reportes de ventas.
+ * Los reportes leen únicamente los acumulados de ventas (rollups), nunca las tablas de pedidos.
+ */
+@RestController
+@RequestMapping("/api/reports/")
+@RequiredArgsConstructor
+@CrossOrigin
+public class ReportController {
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    /**
+     * Devuelve la facturación total por período dentro de un rango de fechas.
+     *
+     * @param granularity Granularidad del reporte (HOUR o DAY). Por defecto DAY.
+     * @param from        Inicio del rango (inclusive), en formato ISO.
+     * @param to          Fin del rango (exclusive), en formato ISO.
+     * @return Una respuesta {@link ResponseEntity} con la lista de acumulados ordenada por período.
+     */
+    @GetMapping("/sales")
+    public ResponseEntity<List<SalesRollupDto>> sales(
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.status(HttpStatus.OK).body(salesRollupService.findSales(granularity, null, from, to));
+    }
+
+    /**
+     * Devuelve la facturación de un producto por período dentro de un rango de fechas.
+     *
+     * @param productId   Identificador del producto.
+     * @param granularity Granularidad del reporte (HOUR o DAY). Por defecto DAY.
+     * @param from        Inicio del rango (inclusive), en formato ISO.
+     * @param to          Fin del rango (exclusive), en formato ISO.
+     * @return Una respuesta {@link ResponseEntity} con la lista de acumulados ordenada por período.
+     */
+    @GetMapping("/sales/products/{productId}")
+    public ResponseEntity<List<SalesRollupDto>> productSales(
+            @PathVariable Long productId,
+            @RequestParam(defaultValue = "DAY") RollupGranularity granularity,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.status(HttpStatus.OK).body(salesRollupService.findSales(granularity, productId, from, to));
+    }
+
+    /**
+     * Recalcula los acumulados de ventas de un rango de días a partir de los pedidos guardados.
+     * Solo está disponible para usuarios con el rol {@code ADMIN} (ver {@code tienda.security.admin-users}).
+     *
+     * @param from Inicio del rango (inclusive), en formato ISO.
+     * @param to   Fin del rango (exclusive), en formato ISO.
+     * @return Una respuesta {@link ResponseEntity} con la cantidad de acumulados escritos.
+     */
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Integer> rebuild(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.status(HttpStatus.OK).body(salesRollupService.rebuild(from, to));
+    }
+}
@@ -0,0 +1,71 @@
+package com.zubigaray.tienda.controller;
+
+import com.zubigaray.tienda.dto.CartItemDto;
+import com.zubigaray.tienda.dto.CartItemRequestDto;
+import com.zubigaray.tienda.service.ShoppingCartService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+
+/**
+ * Controlador REST para manejar las solicitudes relacionadas con el carrito de compras del usuario autenticado.
+ */
+@RestController
+@RequestMapping("/api/cart/")
+@RequiredArgsConstructor
+@CrossOrigin
+public class ShoppingCartController {
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    /**
+     * Devuelve los productos del carrito del usuario autenticado.
+     *
+     * @param authentication La autenticación del usuario.
+     * @return Una respuesta {@link ResponseEntity} con la lista de productos del carrito.
+     */
+    @GetMapping
+    public ResponseEntity<List<CartItemDto>> getCart(Authentication authentication) {
+        return ResponseEntity.status(HttpStatus.OK).body(shoppingCartService.getCart(authentication.getName()));
+    }
+
+    /**
+     * Agrega un producto al carrito del usuario autenticado o reemplaza su cantidad.
+     *
+     * @param authentication     La autenticación del usuario.
+     * @param cartItemRequestDto Objeto {@link CartItemRequestDto} con el producto y la cantidad.
+     * @return Una respuesta {@link ResponseEntity} con el carrito actualizado. Si falla, devuelve un código de estado HTTP 409 (CONFLICT).
+     */
+    @PostMapping("/items")
+    public ResponseEntity<List<CartItemDto>> setItem(Authentication authentication, @RequestBody CartItemRequestDto cartItemRequestDto) {
+        try {
+            var cart = shoppingCartService.setItem(authentication.getName(), cartItemRequestDto.productId(), cartItemRequestDto.quantity());
+            return ResponseEntity.status(HttpStatus.OK).body(cart);
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Quita un producto del carrito del usuario autenticado.
+     *
+     * @param authentication La autenticación del usuario.
+     * @param productId      Identificador del producto.
+     * @return Una respuesta {@link ResponseEntity} con el carrito actualizado. Si falla, devuelve un código de estado HTTP 409 (CONFLICT).
+     */
+    @DeleteMapping("/items/{productId}")
+    public ResponseEntity<List<CartItemDto>> removeItem(Authentication authentication, @PathVariable Long productId) {
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(shoppingCartService.removeItem(authentication.getName(), productId));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
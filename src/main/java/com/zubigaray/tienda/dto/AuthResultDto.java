@@ -0,0 +1,26 @@
+package com.zubigaray.tienda.dto;
+
+import com.zubigaray.tienda.enums.AuthOutcome;
+
+/**
+ * Representa el resultado de un inicio de sesión o registro devuelto por el servicio de autenticación.
+ * Este objeto es inmutable.
+ *
+ * @param outcome El resultado de la operación.
+ * @param token   El token de acceso generado, o {@code null} si la operación no fue exitosa.
+ */
+public record AuthResultDto(
+        AuthOutcome outcome,
+        String token
+) {
+
+    /**
+     * Crea el resultado de una operación que no fue exitosa.
+     *
+     * @param outcome El resultado de la operación.
+     * @return El resultado sin token.
+     */
+    public static AuthResultDto failure(AuthOutcome outcome) {
+        return new AuthResultDto(outcome, null);
+    }
+}
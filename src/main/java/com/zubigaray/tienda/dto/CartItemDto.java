@@ -0,0 +1,20 @@
+package com.zubigaray.tienda.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Representa un producto dentro del carrito de compras de un usuario.
+ * Este objeto es inmutable.
+ *
+ * @param productId   El identificador del producto.
+ * @param productName El nombre del producto.
+ * @param price       El precio unitario del producto.
+ * @param quantity    La cantidad del producto en el carrito.
+ */
+public record CartItemDto(
+        Long productId,
+        String productName,
+        BigDecimal price,
+        Integer quantity
+) {
+}
@@ -0,0 +1,14 @@
+package com.zubigaray.tienda.dto;
+
+/**
+ * Representa una solicitud para agregar un producto al carrito o cambiar su cantidad.
+ * Este objeto es inmutable.
+ *
+ * @param productId El identificador del producto.
+ * @param quantity  La cantidad deseada del producto en el carrito.
+ */
+public record CartItemRequestDto(
+        Long productId,
+        Integer quantity
+) {
+}
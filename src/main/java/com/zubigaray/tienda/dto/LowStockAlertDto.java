@@ -0,0 +1,24 @@
+package com.zubigaray.tienda.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Representa una alerta de stock bajo enviada a los suscriptores del tablero de operaciones.
+ * Este objeto es inmutable.
+ *
+ * @param productId   El identificador del producto.
+ * @param productName El nombre del producto.
+ * @param stock       El stock actual del producto.
+ * @param threshold   El umbral de stock bajo configurado.
+ * @param low         {@code true} si el stock está por debajo del umbral; {@code false} si se repuso por encima.
+ * @param date        La fecha y hora en que se evaluó el cambio de stock.
+ */
+public record LowStockAlertDto(
+        Long productId,
+        String productName,
+        Integer stock,
+        Integer threshold,
+        boolean low,
+        LocalDateTime date
+) {
+}
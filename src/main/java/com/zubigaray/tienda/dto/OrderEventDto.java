@@ -0,0 +1,38 @@
+package com.zubigaray.tienda.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Representa el contenido de un evento de pedido que se publica a los sistemas externos.
+ * Este objeto es inmutable y se serializa como JSON en la tabla outbox.
+ *
+ * @param orderId    El identificador del pedido.
+ * @param userName   El nombre de usuario que realizó el pedido.
+ * @param date       La fecha y hora del pedido.
+ * @param totalPrice El precio total del pedido.
+ * @param lines      Los detalles del pedido.
+ */
+public record OrderEventDto(
+        Long orderId,
+        String userName,
+        LocalDateTime date,
+        BigDecimal totalPrice,
+        List<Line> lines
+) {
+
+    /**
+     * Representa un detalle del pedido dentro del evento.
+     *
+     * @param productId El identificador del producto.
+     * @param quantity  La cantidad comprada.
+     * @param subTotal  El subtotal del detalle.
+     */
+    public record Line(
+            Long productId,
+            Integer quantity,
+            BigDecimal subTotal
+    ) {
+    }
+}
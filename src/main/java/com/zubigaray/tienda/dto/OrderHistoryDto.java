@@ -0,0 +1,24 @@
+package com.zubigaray.tienda.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Representa un pedido dentro del historial de un usuario, sea reciente o archivado.
+ * Este objeto es inmutable.
+ *
+ * @param orderId    El identificador del pedido.
+ * @param date       La fecha y hora del pedido.
+ * @param totalPrice El precio total del pedido.
+ * @param archived   Indica si el pedido proviene del archivo.
+ * @param lines      Los detalles del pedido.
+ */
+public record OrderHistoryDto(
+        Long orderId,
+        LocalDateTime date,
+        BigDecimal totalPrice,
+        boolean archived,
+        List<OrderLineDto> lines
+) {
+}
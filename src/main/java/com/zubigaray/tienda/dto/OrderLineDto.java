@@ -0,0 +1,20 @@
+package com.zubigaray.tienda.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Representa un detalle de pedido sin cargar las entidades relacionadas.
+ * Este objeto es inmutable y se utiliza en el archivado y en el historial de pedidos.
+ *
+ * @param orderId   El identificador del pedido.
+ * @param productId El identificador del producto.
+ * @param quantity  La cantidad comprada.
+ * @param subTotal  El subtotal del detalle.
+ */
+public record OrderLineDto(
+        Long orderId,
+        Long productId,
+        Integer quantity,
+        BigDecimal subTotal
+) {
+}
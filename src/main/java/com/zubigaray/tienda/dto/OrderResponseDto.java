@@ -0,0 +1,21 @@
+package com.zubigaray.tienda.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Representa la respuesta de una operación sobre un pedido.
+ * Este objeto es inmutable y se utiliza para informar al cliente el resultado de la compra.
+ *
+ * @param orderId    El identificador del pedido creado. Puede ser {@code null} si la operación falla.
+ * @param date       La fecha y hora del pedido. Puede ser {@code null} si la operación falla.
+ * @param totalPrice El precio total del pedido. Puede ser {@code null} si la operación falla.
+ * @param message    Un mensaje descriptivo sobre el resultado de la operación.
+ */
+public record OrderResponseDto(
+        Long orderId,
+        LocalDateTime date,
+        BigDecimal totalPrice,
+        String message
+) {
+}
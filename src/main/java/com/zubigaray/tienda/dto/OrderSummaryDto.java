@@ -0,0 +1,21 @@
+package com.zubigaray.tienda.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Representa los datos principales de un pedido sin cargar las entidades relacionadas.
+ * Este objeto es inmutable.
+ *
+ * @param id         El identificador del pedido.
+ * @param userId     El identificador del usuario que realizó el pedido.
+ * @param date       La fecha y hora del pedido.
+ * @param totalPrice El precio total del pedido.
+ */
+public record OrderSummaryDto(
+        Long id,
+        Long userId,
+        LocalDateTime date,
+        BigDecimal totalPrice
+) {
+}
@@ -0,0 +1,20 @@
+package com.zubigaray.tienda.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Representa un producto del catálogo en las respuestas de la API.
+ * Este objeto es inmutable.
+ *
+ * @param id    El identificador del producto.
+ * @param name  El nombre del producto.
+ * @param price El precio del producto.
+ * @param stock El stock disponible del producto.
+ */
+public record ProductDto(
+        Long id,
+        String name,
+        BigDecimal price,
+        Integer stock
+) {
+}
@@ -0,0 +1,23 @@
+package com.zubigaray.tienda.dto;
+
+import java.util.List;
+
+/**
+ * Representa una página del catálogo de productos en las respuestas de la API, con un formato estable que no
+ * depende de la implementación de paginación de Spring Data.
+ * Este objeto es inmutable.
+ *
+ * @param content       Los productos de la página.
+ * @param page          El número de página, empezando en cero.
+ * @param size          El tamaño de página solicitado.
+ * @param totalElements La cantidad total de productos del catálogo.
+ * @param totalPages    La cantidad total de páginas.
+ */
+public record ProductPageDto(
+        List<ProductDto> content,
+        int page,
+        int size,
+        long totalElements,
+        int totalPages
+) {
+}
@@ -0,0 +1,21 @@
+package com.zubigaray.tienda.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Representa un acumulado de ventas de un período en los reportes.
+ * Este objeto es inmutable.
+ *
+ * @param bucketStart Inicio del período.
+ * @param revenue     Facturación del período.
+ * @param quantity    Unidades vendidas en el período.
+ * @param orderCount  Cantidad de pedidos del período.
+ */
+public record SalesRollupDto(
+        LocalDateTime bucketStart,
+        BigDecimal revenue,
+        Long quantity,
+        Long orderCount
+) {
+}
@@ -0,0 +1,18 @@
+package com.zubigaray.tienda.dto;
+
+/**
+ * Evento de aplicación que se publica cada vez que cambia el stock de un producto, ya sea por una compra o por una reposición.
+ * Este objeto es inmutable.
+ *
+ * @param productId     El identificador del producto.
+ * @param productName   El nombre del producto.
+ * @param previousStock El stock antes del cambio.
+ * @param newStock      El stock después del cambio.
+ */
+public record StockChangeEvent(
+        Long productId,
+        String productName,
+        Integer previousStock,
+        Integer newStock
+) {
+}
@@ -0,0 +1,25 @@
+package com.zubigaray.tienda.dto;
+
+import java.time.Instant;
+
+/**
+ * Representa el resultado de verificar un token de acceso. Este objeto es inmutable.
+ * Para un token inválido, vencido o revocado solo se informa {@code active = false}, sin datos del token.
+ *
+ * @param active    {@code true} si la firma del token es válida, no venció y no fue revocado.
+ * @param subject   El nombre de usuario al que pertenece el token, o {@code null} si no está activo.
+ * @param expiresAt La fecha y hora de vencimiento del token, o {@code null} si no está activo.
+ * @param tokenId   El identificador único del token ({@code jti}), o {@code null} si no está activo.
+ */
+public record TokenIntrospectionDto(
+        boolean active,
+        String subject,
+        Instant expiresAt,
+        String tokenId
+) {
+
+    /**
+     * Resultado compartido para todos los tokens que no están activos.
+     */
+    public static final TokenIntrospectionDto INACTIVE = new TokenIntrospectionDto(false, null, null, null);
+}
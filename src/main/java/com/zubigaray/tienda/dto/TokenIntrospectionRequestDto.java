@@ -0,0 +1,14 @@
+package com.zubigaray.tienda.dto;
+
+import java.util.List;
+
+/**
+ * Representa una solicitud de verificación de varios tokens de acceso en una sola llamada.
+ * Este objeto es inmutable.
+ *
+ * @param tokens Los tokens a verificar; la respuesta conserva el mismo orden.
+ */
+public record TokenIntrospectionRequestDto(
+        List<String> tokens
+) {
+}
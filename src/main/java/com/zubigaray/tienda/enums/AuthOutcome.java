@@ -0,0 +1,88 @@
+package com.zubigaray.tienda.enums;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Representa el resultado de una operación de autenticación (inicio de sesión o registro), con el {@link AuthStatus},
+ * el código HTTP y el mensaje con que se informa al cliente.
+ * <p>
+ * Un usuario inexistente y una contraseña incorrecta se distinguen internamente, pero se informan con el mismo mensaje
+ * para no revelar qué nombres de usuario existen.
+ */
+public enum AuthOutcome {
+    /**
+     * El inicio de sesión fue exitoso.
+     */
+    LOGIN_SUCCESS(AuthStatus.LOGIN_SUCCESS, HttpStatus.OK, "Login successful"),
+
+    /**
+     * El usuario existe, pero la contraseña no coincide.
+     */
+    BAD_CREDENTIALS(AuthStatus.LOGIN_FAILED, HttpStatus.UNAUTHORIZED, "The username or password is incorrect"),
+
+    /**
+     * No existe un usuario con el nombre de usuario indicado.
+     */
+    UNKNOWN_USER(AuthStatus.LOGIN_FAILED, HttpStatus.UNAUTHORIZED, "The username or password is incorrect"),
+
+    /**
+     * El usuario se registró exitosamente.
+     */
+    USER_CREATED(AuthStatus.USER_CREATED_SUCCESSFULLY, HttpStatus.OK, "User registered successfully"),
+
+    /**
+     * El nombre de usuario ya está registrado.
+     */
+    DUPLICATE_USERNAME(AuthStatus.USER_NOT_CREATED, HttpStatus.CONFLICT, "The username is already in use"),
+
+    /**
+     * El correo electrónico ya está registrado.
+     */
+    DUPLICATE_MAIL(AuthStatus.USER_NOT_CREATED, HttpStatus.CONFLICT, "Email is already in use");
+
+    private final AuthStatus authStatus;
+    private final HttpStatus httpStatus;
+    private final String message;
+
+    AuthOutcome(AuthStatus authStatus, HttpStatus httpStatus, String message) {
+        this.authStatus = authStatus;
+        this.httpStatus = httpStatus;
+        this.message = message;
+    }
+
+    /**
+     * Obtiene el estado de autenticación que se informa al cliente.
+     *
+     * @return El estado de autenticación.
+     */
+    public AuthStatus getAuthStatus() {
+        return authStatus;
+    }
+
+    /**
+     * Obtiene el código HTTP de la respuesta.
+     *
+     * @return El código HTTP.
+     */
+    public HttpStatus getHttpStatus() {
+        return httpStatus;
+    }
+
+    /**
+     * Obtiene el mensaje que se informa al cliente.
+     *
+     * @return El mensaje.
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Indica si la operación fue exitosa y, por lo tanto, produjo un token.
+     *
+     * @return {@code true} si la operación fue exitosa.
+     */
+    public boolean isSuccess() {
+        return httpStatus == HttpStatus.OK;
+    }
+}
@@ -0,0 +1,32 @@
+package com.zubigaray.tienda.enums;
+
+/**
+ * Representa los formatos disponibles para la exportación de pedidos.
+ */
+public enum ExportFormat {
+    /**
+     * Valores separados por comas, con una fila de encabezado.
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * Un objeto JSON por línea (newline-delimited JSON).
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,12 @@
+package com.zubigaray.tienda.enums;
+
+/**
+ * Representa los tipos de eventos de pedido que se registran en la tabla outbox
+ * para ser publicados a los sistemas externos (logística, facturación).
+ */
+public enum OrderEventType {
+    /**
+     * Indica que un pedido fue creado y confirmado en el sistema.
+     */
+    ORDER_CREATED
+}
@@ -0,0 +1,35 @@
+package com.zubigaray.tienda.enums;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Representa la granularidad temporal de los acumulados de ventas (rollups).
+ */
+public enum RollupGranularity {
+    /**
+     * Acumulado por hora.
+     */
+    HOUR(ChronoUnit.HOURS),
+
+    /**
+     * Acumulado por día.
+     */
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    RollupGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Calcula el inicio del período al que pertenece una fecha.
+     *
+     * @param dateTime La fecha a truncar.
+     * @return La fecha truncada a la hora o al día según la granularidad.
+     */
+    public LocalDateTime bucketOf(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(unit);
+    }
+}
@@ -0,0 +1,103 @@
+package com.zubigaray.tienda.model;
+
+import com.zubigaray.tienda.dto.OrderLineDto;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.Length;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representa un pedido archivado en el sistema.
+ * Esta clase está mapeada a la tabla "OrdersArchive" en la base de datos. Cada fila guarda un pedido completo que
+ * superó el período de retención, con sus detalles codificados de forma compacta en una sola columna, para que
+ * las tablas "Orders" y "OrderDetails" (y sus índices) conserven un tamaño acotado.
+ */
+@Entity
+@Table(name = "OrdersArchive", indexes = @Index(name = "idx_orders_archive_user_date", columnList = "user_id, date"))
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class ArchivedOrder {
+
+    /**
+     * Identificador del pedido. Conserva el identificador original que tenía en la tabla "Orders".
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Identificador del usuario que realizó el pedido. Este campo no puede ser nulo.
+     */
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * Fecha y hora en que se realizó el pedido. Este campo no puede ser nulo.
+     */
+    @Column(nullable = false)
+    private LocalDateTime date;
+
+    /**
+     * Precio total del pedido. Este campo no puede ser nulo y se define con una precisión de 10 dígitos y 2 decimales.
+     */
+    @Column(nullable = false, precision = 10, scale = 2)
+    private BigDecimal totalPrice;
+
+    /**
+     * Detalles del pedido codificados como {@code productId:quantity:subTotal} separados por {@code ;}.
+     * Este campo no puede ser nulo. Se declara la longitud para que en MySQL no se mapee a tinytext (255 bytes).
+     */
+    @Lob
+    @Column(name = "line_items", nullable = false, length = Length.LONG32)
+    private String lineItems;
+
+    /**
+     * Fecha y hora en que el pedido fue archivado. Este campo no puede ser nulo.
+     */
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Codifica los detalles de un pedido en el formato compacto de la columna {@code line_items}.
+     *
+     * @param lines Los detalles del pedido.
+     * @return Los detalles codificados.
+     */
+    public static String encodeLines(List<OrderLineDto> lines) {
+        var encoded = new StringBuilder();
+        for (var line : lines) {
+            if (!encoded.isEmpty()) {
+                encoded.append(';');
+            }
+            encoded.append(line.productId()).append(':').append(line.quantity()).append(':').append(line.subTotal().toPlainString());
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Decodifica los detalles de un pedido guardados en el formato compacto de la columna {@code line_items}.
+     *
+     * @param orderId   El identificador del pedido.
+     * @param lineItems Los detalles codificados.
+     * @return La lista de detalles del pedido.
+     */
+    public static List<OrderLineDto> decodeLines(Long orderId, String lineItems) {
+        var lines = new ArrayList<OrderLineDto>();
+        for (var item : lineItems.split(";")) {
+            if (item.isEmpty()) {
+                continue;
+            }
+            var fields = item.split(":");
+            lines.add(new OrderLineDto(orderId, Long.valueOf(fields[0]), Integer.valueOf(fields[1]), new BigDecimal(fields[2])));
+        }
+        return lines;
+    }
+}
@@ -12,9 +12,10 @@ import java.time.LocalDateTime;
 /**
  * Representa una entidad de pedido (Order) en el sistema.
  * Esta clase está mapeada a la tabla "Orders" en la base de datos y contiene información sobre un pedido realizado por un usuario.
+ * La tabla solo conserva los pedidos recientes; los pedidos que superan el período de retención se mueven a {@link ArchivedOrder}.
  */
 @Entity
-@Table(name = "Orders")
+@Table(name = "Orders", indexes = @Index(name = "idx_orders_date", columnList = "date"))
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -37,7 +38,8 @@ public class Order {
     private User user;
 
     /**
-     * Fecha y hora en que se realizó el pedido. Este campo no puede ser nulo.
+     * Fecha y hora en que se realizó el pedido. Este campo no puede ser nulo y está indexado para que el archivado
+     * recorra solo el rango de pedidos antiguos.
      */
     @Column(nullable = false)
     private LocalDateTime date;
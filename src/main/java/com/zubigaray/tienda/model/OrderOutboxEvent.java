@@ -0,0 +1,66 @@
+package com.zubigaray.tienda.model;
+
+import com.zubigaray.tienda.enums.OrderEventType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.Length;
+
+import java.time.LocalDateTime;
+
+/**
+ * Representa un evento de pedido pendiente de publicación (patrón transactional outbox).
+ * Esta clase está mapeada a la tabla "OrderOutbox" en la base de datos. Cada evento se escribe en la misma
+ * transacción que el {@link Order} que lo origina y luego es publicado de forma asíncrona por el relay.
+ */
+@Entity
+@Table(name = "OrderOutbox", indexes = @Index(name = "idx_order_outbox_pending", columnList = "published_at, id"))
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class OrderOutboxEvent {
+
+    /**
+     * Identificador único del evento. Es creciente, por lo que define el orden de publicación de los eventos.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Identificador del pedido al que se refiere el evento. No es una clave foránea para que el pedido
+     * pueda archivarse sin depender del estado de publicación.
+     */
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    /**
+     * Tipo de evento. Este campo no puede ser nulo.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 50)
+    private OrderEventType eventType;
+
+    /**
+     * Contenido del evento serializado en formato JSON. Este campo no puede ser nulo. Se declara la longitud porque
+     * un {@code @Lob} sin ella se mapea a tinytext (255 bytes) en MySQL y no entran los pedidos con varios productos.
+     */
+    @Lob
+    @Column(nullable = false, length = Length.LONG32)
+    private String payload;
+
+    /**
+     * Fecha y hora en que se registró el evento. Este campo no puede ser nulo.
+     */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Fecha y hora en que el evento fue publicado. Es nulo mientras el evento esté pendiente.
+     */
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+}
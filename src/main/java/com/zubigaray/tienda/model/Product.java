@@ -5,6 +5,9 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.Length;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 
@@ -12,9 +15,12 @@ import java.math.BigDecimal;
  * Representa una entidad de producto (Product) en el sistema.
  * Esta clase está mapeada a la tabla "Products" en la base de datos y contiene información sobre un producto,
  * incluyendo su nombre, descripción, precio y stock disponible.
+ * Cuando la caché de segundo nivel está activa, los productos se guardan en la región "products".
  */
 @Entity
 @Table(name = "Products")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "products")
 @AllArgsConstructor
 @NoArgsConstructor
 @Getter
@@ -38,7 +44,7 @@ public class Product {
      * Descripción detallada del producto. Este campo no puede ser nulo y se almacena como un objeto grande (LOB) en la base de datos.
      */
     @Lob
-    @Column(nullable = false)
+    @Column(nullable = false, length = Length.LONG16)
     private String description;
 
     /**
@@ -0,0 +1,75 @@
+package com.zubigaray.tienda.model;
+
+import com.zubigaray.tienda.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Representa un acumulado de ventas (rollup) para un período y, opcionalmente, un producto.
+ * Esta clase está mapeada a la tabla "SalesRollups" en la base de datos. Los acumulados se actualizan
+ * de forma incremental al confirmar cada pedido, por lo que los reportes no necesitan recorrer los pedidos.
+ */
+@Entity
+@Table(name = "SalesRollups", uniqueConstraints = @UniqueConstraint(
+        name = "uk_sales_rollup_bucket", columnNames = {"granularity", "product_id", "bucket_start"}))
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class SalesRollup {
+
+    /**
+     * Identificador del producto utilizado para los acumulados totales (todos los productos).
+     */
+    public static final long ALL_PRODUCTS = 0L;
+
+    /**
+     * Identificador único del acumulado. Este campo se genera automáticamente mediante una estrategia de identidad en la base de datos.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Granularidad del período (hora o día). Este campo no puede ser nulo.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private RollupGranularity granularity;
+
+    /**
+     * Inicio del período acumulado. Este campo no puede ser nulo.
+     */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    /**
+     * Identificador del producto, o {@link #ALL_PRODUCTS} para el total del período. Este campo no puede ser nulo.
+     */
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    /**
+     * Facturación acumulada del período. Este campo no puede ser nulo y se define con una precisión de 14 dígitos y 2 decimales.
+     */
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal revenue;
+
+    /**
+     * Cantidad de unidades vendidas en el período. Este campo no puede ser nulo.
+     */
+    @Column(nullable = false)
+    private Long quantity;
+
+    /**
+     * Cantidad de pedidos del período. Este campo no puede ser nulo.
+     */
+    @Column(name = "order_count", nullable = false)
+    private Long orderCount;
+}
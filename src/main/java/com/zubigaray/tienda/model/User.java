@@ -2,6 +2,10 @@ package com.zubigaray.tienda.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 import java.time.LocalDateTime;
 
@@ -9,9 +13,14 @@ import java.time.LocalDateTime;
  * Representa una entidad de usuario (User) en el sistema.
  * Esta clase está mapeada a la tabla "Users" en la base de datos y contiene información sobre un usuario,
  * incluyendo su nombre, nombre de usuario, contraseña, correo electrónico y fecha de registro.
+ * Cuando la caché de segundo nivel está activa, los usuarios se guardan en la región "users" y la resolución del
+ * nombre de usuario al identificador en la región "users-natural-id".
  */
 @Entity
 @Table(name = "Users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-natural-id")
 @AllArgsConstructor
 @NoArgsConstructor
 public class User {
@@ -31,7 +40,9 @@ public class User {
 
     /**
      * Nombre de usuario único para identificar al usuario en el sistema. Este campo no puede ser nulo y debe ser único.
+     * Es el identificador natural de la entidad y no se modifica una vez registrado el usuario.
      */
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String userName;
 
@@ -0,0 +1,22 @@
+package com.zubigaray.tienda.repo;
+
+import com.zubigaray.tienda.model.ArchivedOrder;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repositorio para la entidad {@link ArchivedOrder}. Proporciona métodos para leer los pedidos archivados.
+ */
+@Repository
+public interface ArchivedOrderRepo extends JpaRepository<ArchivedOrder, Long> {
+
+    /**
+     * Busca los pedidos archivados de un usuario, del más reciente al más antiguo.
+     *
+     * @param userId El identificador del usuario.
+     * @return La lista de pedidos archivados del usuario.
+     */
+    List<ArchivedOrder> findByUserIdOrderByDateDesc(Long userId);
+}
@@ -0,0 +1,39 @@
+package com.zubigaray.tienda.repo;
+
+import com.zubigaray.tienda.dto.OrderLineDto;
+import com.zubigaray.tienda.model.OrderDetail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad {@link OrderDetail}. Proporciona métodos para acceder y manipular los detalles de pedidos.
+ */
+@Repository
+public interface OrderDetailRepo extends JpaRepository<OrderDetail, Long> {
+
+    /**
+     * Busca los detalles de un conjunto de pedidos sin cargar los pedidos ni los productos asociados.
+     *
+     * @param orderIds Los identificadores de los pedidos.
+     * @return La lista de detalles ordenada por identificador.
+     */
+    @Query("select new com.zubigaray.tienda.dto.OrderLineDto(d.order.id, d.product.id, d.quantity, d.subTotal)"
+            + " from OrderDetail d where d.order.id in :orderIds order by d.id")
+    List<OrderLineDto> findLinesByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+
+    /**
+     * Elimina los detalles de un conjunto de pedidos con una única sentencia.
+     *
+     * @param orderIds Los identificadores de los pedidos.
+     * @return La cantidad de detalles eliminados.
+     */
+    @Modifying
+    @Query("delete from OrderDetail d where d.order.id in :orderIds")
+    int deleteByOrderIdIn(@Param("orderIds") Collection<Long> orderIds);
+}
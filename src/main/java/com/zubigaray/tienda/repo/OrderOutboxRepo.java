@@ -0,0 +1,42 @@
+package com.zubigaray.tienda.repo;
+
+import com.zubigaray.tienda.model.OrderOutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para la entidad {@link OrderOutboxEvent}. Proporciona métodos para leer los eventos pendientes de publicación.
+ */
+@Repository
+public interface OrderOutboxRepo extends JpaRepository<OrderOutboxEvent, Long> {
+
+    /**
+     * Busca el siguiente lote de eventos pendientes, en orden de creación, y los bloquea hasta el final de la transacción.
+     * El bloqueo evita que dos instancias del relay publiquen el mismo lote en paralelo y alteren el orden.
+     *
+     * @param limit Cantidad máxima de eventos a devolver.
+     * @return La lista de eventos pendientes ordenada por identificador.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<OrderOutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Limit limit);
+
+    /**
+     * Cuenta los eventos que todavía no fueron publicados.
+     *
+     * @return La cantidad de eventos pendientes.
+     */
+    long countByPublishedAtIsNull();
+
+    /**
+     * Busca el evento pendiente más antiguo.
+     *
+     * @return Un {@link Optional} que contiene el evento pendiente más antiguo, o vacío si no hay eventos pendientes.
+     */
+    Optional<OrderOutboxEvent> findFirstByPublishedAtIsNullOrderByIdAsc();
+}
@@ -0,0 +1,61 @@
+package com.zubigaray.tienda.repo;
+
+import com.zubigaray.tienda.dto.OrderSummaryDto;
+import com.zubigaray.tienda.model.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad {@link Order}. Proporciona métodos para acceder y manipular datos de pedidos en la base de datos.
+ */
+@Repository
+public interface OrderRepo extends JpaRepository<Order, Long> {
+
+    /**
+     * Busca los identificadores de los pedidos anteriores a una fecha, en orden de identificador.
+     *
+     * @param cutoff Fecha límite (exclusive).
+     * @param limit  Cantidad máxima de identificadores a devolver.
+     * @return La lista de identificadores de pedidos.
+     */
+    @Query("select o.id from Order o where o.date < :cutoff order by o.id")
+    List<Long> findIdsByDateBefore(@Param("cutoff") LocalDateTime cutoff, Limit limit);
+
+    /**
+     * Busca los datos principales de un conjunto de pedidos sin cargar los usuarios asociados.
+     *
+     * @param ids Los identificadores de los pedidos.
+     * @return La lista de pedidos ordenada por identificador.
+     */
+    @Query("select new com.zubigaray.tienda.dto.OrderSummaryDto(o.id, o.user.id, o.date, o.totalPrice)"
+            + " from Order o where o.id in :ids order by o.id")
+    List<OrderSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Busca los datos principales de los pedidos de un usuario, del más reciente al más antiguo.
+     *
+     * @param userId El identificador del usuario.
+     * @return La lista de pedidos del usuario.
+     */
+    @Query("select new com.zubigaray.tienda.dto.OrderSummaryDto(o.id, o.user.id, o.date, o.totalPrice)"
+            + " from Order o where o.user.id = :userId order by o.date desc")
+    List<OrderSummaryDto> findSummariesByUserId(@Param("userId") Long userId);
+
+    /**
+     * Elimina un conjunto de pedidos con una única sentencia.
+     *
+     * @param ids Los identificadores de los pedidos a eliminar.
+     * @return La cantidad de pedidos eliminados.
+     */
+    @Modifying
+    @Query("delete from Order o where o.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
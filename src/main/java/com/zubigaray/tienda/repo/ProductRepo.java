@@ -0,0 +1,55 @@
+package com.zubigaray.tienda.repo;
+
+import com.zubigaray.tienda.model.Product;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para la entidad {@link Product}. Proporciona métodos para acceder y manipular datos de productos en la base de datos.
+ */
+@Repository
+public interface ProductRepo extends JpaRepository<Product, Long> {
+
+    /**
+     * Busca un producto por su identificador y bloquea la fila para escritura hasta el final de la transacción.
+     * Se utiliza al descontar stock para evitar vender más unidades de las disponibles.
+     *
+     * @param id El identificador del producto.
+     * @return Un {@link Optional} que contiene el producto si existe, o vacío si no existe.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Product p where p.id = :id")
+    Optional<Product> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Busca los productos cuyo stock está por debajo de un umbral.
+     *
+     * @param threshold El umbral de stock.
+     * @return La lista de productos con stock bajo.
+     */
+    List<Product> findByStockLessThan(Integer threshold);
+
+    /**
+     * Obtiene una página del catálogo de productos. La consulta (y la de conteo) se marca como cacheable, por lo que
+     * se sirve desde la caché de consultas cuando {@code tienda.cache.query-cache} está activa; Hibernate la invalida
+     * en cuanto se confirma cualquier escritura sobre la tabla de productos.
+     *
+     * @param pageable Parámetros de paginación y ordenamiento.
+     * @return La página de productos solicitada.
+     */
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Product> findAll(Pageable pageable);
+}
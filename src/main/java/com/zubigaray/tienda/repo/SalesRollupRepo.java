@@ -0,0 +1,34 @@
+package com.zubigaray.tienda.repo;
+
+import com.zubigaray.tienda.enums.RollupGranularity;
+import com.zubigaray.tienda.model.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad {@link SalesRollup}. Proporciona métodos para leer los acumulados de ventas.
+ * Las consultas recorren el índice único (granularidad, producto, período), por lo que su costo depende del
+ * rango pedido y no de la cantidad de pedidos históricos.
+ */
+@Repository
+public interface SalesRollupRepo extends JpaRepository<SalesRollup, Long> {
+
+    /**
+     * Busca los acumulados de un producto (o del total) dentro de un rango de períodos.
+     *
+     * @param granularity La granularidad de los acumulados.
+     * @param productId   El identificador del producto, o {@link SalesRollup#ALL_PRODUCTS} para el total.
+     * @param from        Inicio del rango (inclusive).
+     * @param to          Fin del rango (exclusive).
+     * @return La lista de acumulados ordenada por período.
+     */
+    @Query("select r from SalesRollup r where r.granularity = :granularity and r.productId = :productId"
+            + " and r.bucketStart >= :from and r.bucketStart < :to order by r.bucketStart")
+    List<SalesRollup> findRange(@Param("granularity") RollupGranularity granularity, @Param("productId") Long productId,
+                                @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
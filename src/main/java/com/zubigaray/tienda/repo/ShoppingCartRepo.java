@@ -0,0 +1,48 @@
+package com.zubigaray.tienda.repo;
+
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.model.ShoppingCart;
+import com.zubigaray.tienda.model.User;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repositorio para la entidad {@link ShoppingCart}. Proporciona métodos para acceder a los productos del carrito de cada usuario.
+ */
+@Repository
+public interface ShoppingCartRepo extends JpaRepository<ShoppingCart, Long> {
+
+    /**
+     * Busca todos los productos que un usuario tiene en su carrito de compras. Los productos se cargan en la misma
+     * consulta, en lugar de una consulta adicional por cada producto del carrito.
+     *
+     * @param user El usuario dueño del carrito.
+     * @return La lista de elementos del carrito, ordenada por identificador.
+     */
+    @EntityGraph(attributePaths = "product")
+    List<ShoppingCart> findByUserOrderByIdAsc(User user);
+
+    /**
+     * Obtiene los identificadores de los productos del carrito de un usuario, sin cargar las entidades.
+     *
+     * @param user El usuario dueño del carrito.
+     * @return Los identificadores de los productos, en orden ascendente.
+     */
+    @Query("select c.product.id from ShoppingCart c where c.user = :user order by c.product.id")
+    List<Long> findProductIdsByUser(@Param("user") User user);
+
+    /**
+     * Busca un producto dentro del carrito de un usuario.
+     *
+     * @param user    El usuario dueño del carrito.
+     * @param product El producto a buscar.
+     * @return Un {@link Optional} que contiene el elemento del carrito si existe, o vacío si el producto no está en el carrito.
+     */
+    Optional<ShoppingCart> findByUserAndProduct(User user, Product product);
+}
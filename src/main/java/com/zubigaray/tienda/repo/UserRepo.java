@@ -4,14 +4,13 @@ import com.zubigaray.tienda.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.Optional;
-
 /**
  * Repositorio para la entidad {@link User}. Proporciona métodos para acceder y manipular datos de usuarios en la base de datos.
- * Esta interfaz extiende {@link JpaRepository}, lo que permite utilizar métodos CRUD estándar y personalizados.
+ * Esta interfaz extiende {@link JpaRepository}, lo que permite utilizar métodos CRUD estándar y personalizados,
+ * y {@link UserRepoCustom}, que resuelve la búsqueda por nombre de usuario a través de la caché de segundo nivel.
  */
 @Repository
-public interface UserRepo extends JpaRepository<User, Long> {
+public interface UserRepo extends JpaRepository<User, Long>, UserRepoCustom {
 
     /**
      * Verifica si existe un usuario con el nombre de usuario especificado.
@@ -21,14 +20,6 @@ public interface UserRepo extends JpaRepository<User, Long> {
      */
     boolean existsByUserName(String userName);
 
-    /**
-     * Busca un usuario por su nombre de usuario.
-     *
-     * @param userName El nombre de usuario del usuario a buscar.
-     * @return Un {@link Optional} que contiene el usuario si se encuentra, o vacío si no existe.
-     */
-    Optional<User> findByUserName(String userName);
-
     /**
      * Verifica si existe un usuario con el correo electrónico especificado.
      *
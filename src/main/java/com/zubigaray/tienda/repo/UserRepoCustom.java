@@ -0,0 +1,20 @@
+package com.zubigaray.tienda.repo;
+
+import com.zubigaray.tienda.model.User;
+
+import java.util.Optional;
+
+/**
+ * Consultas de usuarios que no se derivan del nombre del método, implementadas en {@link UserRepoCustomImpl}.
+ */
+public interface UserRepoCustom {
+
+    /**
+     * Busca un usuario por su nombre de usuario, que es el identificador natural de la entidad.
+     * Con la caché de segundo nivel activa, la búsqueda se resuelve desde la caché sin consultar la base de datos.
+     *
+     * @param userName El nombre de usuario del usuario a buscar.
+     * @return Un {@link Optional} que contiene el usuario si se encuentra, o vacío si no existe.
+     */
+    Optional<User> findByUserName(String userName);
+}
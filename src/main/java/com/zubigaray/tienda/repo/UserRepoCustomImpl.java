@@ -0,0 +1,35 @@
+package com.zubigaray.tienda.repo;
+
+import com.zubigaray.tienda.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Implementación de {@link UserRepoCustom}. Spring Data la detecta por el sufijo {@code Impl} y la combina con
+ * {@link UserRepo}. Al igual que los métodos de {@code SimpleJpaRepository}, se ejecuta en una transacción de solo
+ * lectura, necesaria para obtener la {@link Session} cuando se invoca fuera de una transacción (por ejemplo, desde el
+ * filtro JWT).
+ */
+@Transactional(readOnly = true)
+public class UserRepoCustomImpl implements UserRepoCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Usa la API de identificadores naturales de Hibernate en lugar de una consulta derivada, porque las consultas
+     * JPQL no consultan la caché de segundo nivel.
+     */
+    @Override
+    public Optional<User> findByUserName(String userName) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(User.class)
+                .loadOptional(userName);
+    }
+}
@@ -1,5 +1,10 @@
 package com.zubigaray.tienda.service;
 
+import com.zubigaray.tienda.dto.AuthResultDto;
+import com.zubigaray.tienda.dto.TokenIntrospectionDto;
+
+import java.util.List;
+
 /**
  * Servicio de autenticación que proporciona métodos para el inicio de sesión, registro y verificación de tokens.
  * Esta interfaz define las operaciones principales relacionadas con la autenticación de usuarios en el sistema.
@@ -11,9 +16,9 @@ public interface AuthService {
      *
      * @param userName El nombre de usuario del usuario que intenta iniciar sesión.
      * @param password La contraseña del usuario.
-     * @return Un token de autenticación si las credenciales son válidas, o un mensaje de error en caso contrario.
+     * @return El resultado del inicio de sesión, con el token de autenticación si las credenciales son válidas.
      */
-    String login(String userName, String password);
+    AuthResultDto login(String userName, String password);
 
     /**
      * Registra un nuevo usuario en el sistema con la información proporcionada.
@@ -22,9 +27,9 @@ public interface AuthService {
      * @param userName El nombre de usuario único para el nuevo usuario.
      * @param password La contraseña del nuevo usuario.
      * @param email    El correo electrónico del nuevo usuario.
-     * @return Un token de autenticación si el registro es exitoso, o un mensaje de error en caso contrario.
+     * @return El resultado del registro, con el token de autenticación si el registro es exitoso.
      */
-    String signUp(String name, String userName, String password, String email);
+    AuthResultDto signUp(String name, String userName, String password, String email);
 
     /**
      * Verifica la validez de un token de autenticación.
@@ -33,4 +38,20 @@ public interface AuthService {
      * @return Un mensaje que indica si el token es válido o no.
      */
     String verifyToken(String token);
-}
\ No newline at end of file
+
+    /**
+     * Cierra la sesión asociada a un token de autenticación revocándolo hasta su vencimiento.
+     *
+     * @param token El token de autenticación a revocar.
+     * @return {@code true} si el token estaba activo y se revocó; {@code false} si ya era inválido.
+     */
+    boolean logout(String token);
+
+    /**
+     * Verifica varios tokens de autenticación en una sola llamada, sin fallar por los tokens inválidos.
+     *
+     * @param tokens Los tokens a verificar.
+     * @return El resultado de cada token, en el mismo orden en que se recibieron.
+     */
+    List<TokenIntrospectionDto> introspect(List<String> tokens);
+}
@@ -1,17 +1,29 @@
 package com.zubigaray.tienda.service;
 
+import com.zubigaray.tienda.config.datasource.ReadYourWritesTracker;
+import com.zubigaray.tienda.config.security.TokenDenylist;
+import com.zubigaray.tienda.config.security.TokenVerificationCache;
+import com.zubigaray.tienda.dto.AuthResultDto;
+import com.zubigaray.tienda.dto.TokenIntrospectionDto;
+import com.zubigaray.tienda.enums.AuthOutcome;
 import com.zubigaray.tienda.model.User;
 import com.zubigaray.tienda.repo.UserRepo;
 import com.zubigaray.tienda.utils.JwtUtils;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Implementación del servicio de autenticación ({@link AuthService}).
@@ -21,8 +33,7 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class AuthServiceImp implements AuthService {
 
-    @Autowired
-    private AuthenticationManager authenticationManager;
+    private static final Logger log = LoggerFactory.getLogger(AuthServiceImp.class);
 
     @Autowired
     private PasswordEncoder passwordEncoder;
@@ -30,38 +41,67 @@ public class AuthServiceImp implements AuthService {
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private TokenVerificationCache tokenVerificationCache;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+
+    @Value("${tienda.auth.introspection.max-batch-size:100}")
+    private int maxIntrospectionBatchSize;
+
+    private volatile String dummyPasswordHash; // Hash contra el que se compara cuando el usuario no existe
+
     /**
      * Autentica a un usuario con las credenciales proporcionadas y genera un token de autenticación.
+     * Los fallos se devuelven como resultado, sin lanzar excepciones. Cuando el usuario no existe se compara igualmente
+     * la contraseña contra un hash ficticio, para que la respuesta tarde lo mismo que con un usuario existente y el
+     * tiempo no revele qué nombres de usuario están registrados.
      *
      * @param userName El nombre de usuario del usuario que intenta iniciar sesión.
      * @param password La contraseña del usuario.
-     * @return Un token de autenticación si las credenciales son válidas.
-     * @throws RuntimeException Si la autenticación falla.
+     * @return {@link AuthOutcome#LOGIN_SUCCESS} con el token si las credenciales son válidas;
+     *         {@link AuthOutcome#UNKNOWN_USER} o {@link AuthOutcome#BAD_CREDENTIALS} en caso contrario.
      */
     @Override
-    public String login(String userName, String password) {
-        var authToken = new UsernamePasswordAuthenticationToken(userName, password);
-        var authentication = this.authenticationManager.authenticate(authToken);
-        return JwtUtils.generateToken(((UserDetails) (authentication.getPrincipal())).getUsername());
+    public AuthResultDto login(String userName, String password) {
+        var user = userName != null ? userRepo.findByUserName(userName) : Optional.<User>empty();
+        var rawPassword = password != null ? password : "";
+
+        if (user.isEmpty()) {
+            passwordEncoder.matches(rawPassword, dummyPasswordHash());
+            return AuthResultDto.failure(AuthOutcome.UNKNOWN_USER);
+        }
+        if (!passwordEncoder.matches(rawPassword, user.get().getPassword())) {
+            return AuthResultDto.failure(AuthOutcome.BAD_CREDENTIALS);
+        }
+        return new AuthResultDto(AuthOutcome.LOGIN_SUCCESS, JwtUtils.generateToken(user.get().getUserName()));
     }
 
     /**
      * Registra un nuevo usuario en el sistema con la información proporcionada y genera un token de autenticación.
+     * La escritura se registra a nombre del nuevo usuario, para que sus primeras lecturas vayan a la base principal.
      *
      * @param name     El nombre completo del usuario.
      * @param userName El nombre de usuario único para el nuevo usuario.
      * @param password La contraseña del nuevo usuario.
      * @param mail     El correo electrónico del nuevo usuario.
-     * @return Un token de autenticación si el registro es exitoso.
-     * @throws RuntimeException Si el nombre de usuario o el correo electrónico ya existen en el sistema.
+     * @return {@link AuthOutcome#USER_CREATED} con el token si el registro es exitoso;
+     *         {@link AuthOutcome#DUPLICATE_USERNAME} o {@link AuthOutcome#DUPLICATE_MAIL} si el nombre de usuario o el
+     *         correo electrónico ya existen en el sistema.
      */
     @Override
-    public String signUp(String name, String userName, String password, String mail) {
+    @Transactional
+    public AuthResultDto signUp(String name, String userName, String password, String mail) {
+        readYourWritesTracker.ifAvailable(tracker -> tracker.bindUserName(userName));
         if (userRepo.existsByUserName(userName)) {
-            throw new RuntimeException("Existing UserName");
+            return AuthResultDto.failure(AuthOutcome.DUPLICATE_USERNAME);
         }
         if (userRepo.existsByMail(mail)) {
-            throw new RuntimeException("Existing Mail");
+            return AuthResultDto.failure(AuthOutcome.DUPLICATE_MAIL);
         }
 
         User user = new User();
@@ -72,9 +112,9 @@ public class AuthServiceImp implements AuthService {
         user.setRegisterDate(LocalDateTime.now());
 
         userRepo.save(user);
-        System.out.println("Saved User: " + user.getName());
+        log.debug("Saved user {}", user.getUserName());
 
-        return JwtUtils.generateToken(userName);
+        return new AuthResultDto(AuthOutcome.USER_CREATED, JwtUtils.generateToken(userName));
     }
 
     /**
@@ -94,4 +134,61 @@ public class AuthServiceImp implements AuthService {
 
         throw new RuntimeException("Invalid Token");
     }
-}
\ No newline at end of file
+
+    /**
+     * Revoca un token de autenticación hasta su vencimiento. A partir de ese momento el token se rechaza en todas las
+     * solicitudes y se informa como inactivo en la verificación de tokens.
+     *
+     * @param token El token de autenticación a revocar.
+     * @return {@code true} si el token estaba activo y se revocó; {@code false} si ya era inválido.
+     */
+    @Override
+    public boolean logout(String token) {
+        var introspection = tokenVerificationCache.introspect(token);
+        if (!introspection.active() || introspection.tokenId() == null || introspection.expiresAt() == null) {
+            return false;
+        }
+        tokenDenylist.revoke(introspection.tokenId(), introspection.expiresAt());
+        return true;
+    }
+
+    /**
+     * Verifica varios tokens de autenticación en una sola llamada. Cada token se resuelve con la caché de
+     * verificaciones, por lo que los tokens vistos recientemente no vuelven a verificar su firma, y un token inválido
+     * produce un resultado inactivo en lugar de una excepción.
+     *
+     * @param tokens Los tokens a verificar.
+     * @return El resultado de cada token, en el mismo orden en que se recibieron.
+     * @throws RuntimeException Si no se recibieron tokens o se superó la cantidad máxima por solicitud.
+     */
+    @Override
+    public List<TokenIntrospectionDto> introspect(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            throw new RuntimeException("No tokens to introspect");
+        }
+        if (tokens.size() > maxIntrospectionBatchSize) {
+            throw new RuntimeException("Too many tokens, the maximum is " + maxIntrospectionBatchSize);
+        }
+
+        var results = new ArrayList<TokenIntrospectionDto>(tokens.size());
+        for (var token : tokens) {
+            results.add(tokenVerificationCache.introspect(token));
+        }
+        return results;
+    }
+
+    /**
+     * Obtiene el hash ficticio con el que se compara la contraseña cuando el usuario no existe. Se genera con el mismo
+     * codificador que las contraseñas reales, para que la comparación cueste lo mismo.
+     *
+     * @return El hash ficticio.
+     */
+    private String dummyPasswordHash() {
+        var hash = dummyPasswordHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode(UUID.randomUUID().toString());
+            dummyPasswordHash = hash;
+        }
+        return hash;
+    }
+}
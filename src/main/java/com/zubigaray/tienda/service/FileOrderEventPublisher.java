@@ -0,0 +1,61 @@
+package com.zubigaray.tienda.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zubigaray.tienda.model.OrderOutboxEvent;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Implementación de {@link OrderEventPublisher} que agrega cada evento como una línea JSON (NDJSON)
+ * a un archivo local. Sirve como publicador por defecto mientras no exista un broker real.
+ */
+public class FileOrderEventPublisher implements OrderEventPublisher {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor para la clase FileOrderEventPublisher.
+     *
+     * @param file         Archivo en el que se agregan los eventos.
+     * @param objectMapper Mapper utilizado para escribir cada línea.
+     */
+    public FileOrderEventPublisher(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Agrega el lote de eventos al archivo y fuerza la escritura a disco antes de devolver el control,
+     * de modo que el relay solo marque como publicados los eventos que quedaron persistidos.
+     *
+     * @param events Los eventos a publicar, ordenados por identificador.
+     * @throws IOException Si ocurre un error al escribir el archivo.
+     */
+    @Override
+    public void publish(List<OrderOutboxEvent> events) throws IOException {
+        var lines = new StringBuilder();
+        for (var event : events) {
+            var node = objectMapper.createObjectNode();
+            node.put("id", event.getId());
+            node.put("orderId", event.getOrderId());
+            node.put("type", event.getEventType().name());
+            node.set("payload", objectMapper.readTree(event.getPayload()));
+            lines.append(objectMapper.writeValueAsString(node)).append('\n');
+        }
+
+        try (var channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            var buffer = StandardCharsets.UTF_8.encode(lines.toString());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.LowStockAlertDto;
+import com.zubigaray.tienda.dto.StockChangeEvent;
+import com.zubigaray.tienda.repo.ProductRepo;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio de alertas de stock bajo. Evalúa cada {@link StockChangeEvent} contra el umbral configurado y
+ * envía las alertas a los suscriptores conectados por Server-Sent Events.
+ * <p>
+ * La evaluación se hace después de confirmar la transacción que cambió el stock y solo agrega la alerta al
+ * búfer de cada suscriptor, por lo que el camino de compra no espera a ningún cliente. Los envíos se hacen en un
+ * pool de hilos de tamaño fijo con una cola acotada: si la cola se llena, el suscriptor que no pudo programar su
+ * envío se desconecta en lugar de crear más hilos.
+ */
+@Service
+public class LowStockAlertService {
+
+    private final ProductRepo productRepo;
+    private final int threshold;
+    private final long emitterTimeoutMs;
+    private final int bufferCapacity;
+
+    private final Set<LowStockSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong droppedAlerts = new AtomicLong();
+    private final ExecutorService senderExecutor;
+
+    /**
+     * Constructor para la clase LowStockAlertService.
+     *
+     * @param productRepo      Repositorio de productos, para el estado inicial de cada suscriptor.
+     * @param meterRegistry    Registro de métricas.
+     * @param threshold        Umbral por debajo del cual el stock se considera bajo.
+     * @param emitterTimeoutMs Tiempo máximo de una conexión SSE antes de que el cliente deba reconectarse.
+     * @param bufferCapacity   Cantidad máxima de productos pendientes de envío por suscriptor.
+     * @param senderThreads    Cantidad máxima de hilos de envío.
+     * @param senderQueue      Cantidad máxima de envíos esperando un hilo libre.
+     * @param virtualThreads   Si la aplicación corre en modo de hilos virtuales.
+     */
+    public LowStockAlertService(ProductRepo productRepo, MeterRegistry meterRegistry,
+                                @Value("${tienda.stock.low-threshold:10}") int threshold,
+                                @Value("${tienda.stock.alerts.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                                @Value("${tienda.stock.alerts.buffer-capacity:256}") int bufferCapacity,
+                                @Value("${tienda.stock.alerts.sender-threads:4}") int senderThreads,
+                                @Value("${tienda.stock.alerts.sender-queue:1024}") int senderQueue,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.productRepo = productRepo;
+        this.threshold = threshold;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.bufferCapacity = bufferCapacity;
+        // Cada envío bloquea su hilo mientras el cliente no lee; con hilos virtuales ese bloqueo no ocupa un hilo del sistema
+        var threadFactory = virtualThreads ? Thread.ofVirtual().name("low-stock-sse-", 1).factory() : daemonThreadFactory();
+        var executor = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(senderQueue), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        this.senderExecutor = executor;
+
+        Gauge.builder("tienda.stock.alerts.subscribers", subscribers, Set::size).register(meterRegistry);
+        FunctionCounter.builder("tienda.stock.alerts.dropped", droppedAlerts, AtomicLong::get).register(meterRegistry);
+    }
+
+    /**
+     * Registra un nuevo suscriptor y le envía los productos que ya tienen stock bajo.
+     *
+     * @return El emisor SSE del suscriptor.
+     */
+    public SseEmitter subscribe() {
+        var emitter = new SseEmitter(emitterTimeoutMs);
+        var subscriber = new LowStockSubscriber(emitter, senderExecutor, bufferCapacity, droppedAlerts, subscribers::remove);
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        var now = LocalDateTime.now();
+        for (var product : productRepo.findByStockLessThan(threshold)) {
+            subscriber.offer(new LowStockAlertDto(product.getId(), product.getName(), product.getStock(), threshold, true, now));
+        }
+        return emitter;
+    }
+
+    /**
+     * Evalúa un cambio de stock ya confirmado. Se envía una alerta si el stock queda por debajo del umbral, o si
+     * estaba por debajo y se repuso, para que el tablero pueda quitar la alerta.
+     *
+     * @param event El cambio de stock.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChange(StockChangeEvent event) {
+        var low = event.newStock() < threshold;
+        if (!low && event.previousStock() >= threshold) {
+            return;
+        }
+
+        var alert = new LowStockAlertDto(event.productId(), event.productName(), event.newStock(), threshold, low, LocalDateTime.now());
+        for (var subscriber : subscribers) {
+            subscriber.offer(alert);
+        }
+    }
+
+    /**
+     * Cierra las conexiones abiertas y detiene los hilos de envío.
+     */
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.getEmitter().complete());
+        senderExecutor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreadFactory() {
+        var counter = new AtomicInteger();
+        return runnable -> {
+            var thread = new Thread(runnable, "low-stock-sse-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.LowStockAlertDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Suscriptor de alertas de stock bajo conectado por Server-Sent Events.
+ * <p>
+ * Cada suscriptor tiene su propio búfer acotado que agrupa las alertas por producto: si un producto cambia
+ * varias veces antes de que el cliente reciba la alerta, solo se envía el último estado. Si el búfer se llena,
+ * se descarta la alerta más antigua. El envío se hace en un hilo del ejecutor, con a lo sumo un envío en curso
+ * por suscriptor, de modo que un cliente lento solo se retrasa a sí mismo. Si un envío falla, o el ejecutor no
+ * acepta más trabajo, la conexión se cierra con error y el cliente debe reconectarse.
+ * <p>
+ * Se usa {@link ReentrantLock} en lugar de {@code synchronized} para no fijar (pin) el hilo portador cuando
+ * la aplicación corre con hilos virtuales.
+ */
+class LowStockSubscriber {
+
+    private final SseEmitter emitter;
+    private final Executor executor;
+    private final int capacity;
+    private final Consumer<LowStockSubscriber> onFailure;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Long, LowStockAlertDto> pending = new LinkedHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean failed = new AtomicBoolean();
+    private final AtomicLong dropped;
+
+    /**
+     * Constructor para la clase LowStockSubscriber.
+     *
+     * @param emitter   Emisor SSE del cliente.
+     * @param executor  Ejecutor en el que se envían las alertas.
+     * @param capacity  Cantidad máxima de productos pendientes de envío.
+     * @param dropped   Contador compartido de alertas descartadas por búfer lleno.
+     * @param onFailure Acción a ejecutar cuando el envío falla (por ejemplo, el cliente se desconectó) o no se pudo programar.
+     */
+    LowStockSubscriber(SseEmitter emitter, Executor executor, int capacity, AtomicLong dropped, Consumer<LowStockSubscriber> onFailure) {
+        this.emitter = emitter;
+        this.executor = executor;
+        this.capacity = capacity;
+        this.dropped = dropped;
+        this.onFailure = onFailure;
+    }
+
+    SseEmitter getEmitter() {
+        return emitter;
+    }
+
+    /**
+     * Agrega una alerta al búfer del suscriptor y programa su envío. Nunca bloquea al hilo que la publica.
+     *
+     * @param alert La alerta a enviar.
+     */
+    void offer(LowStockAlertDto alert) {
+        if (failed.get()) {
+            return;
+        }
+        lock.lock();
+        try {
+            // Se quita primero para que el producto pase al final del orden de envío
+            if (pending.remove(alert.productId()) == null && pending.size() >= capacity) {
+                Iterator<Long> oldest = pending.keySet().iterator();
+                oldest.next();
+                oldest.remove();
+                dropped.incrementAndGet();
+            }
+            pending.put(alert.productId(), alert);
+        } finally {
+            lock.unlock();
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                draining.set(false);
+                fail(e);
+            }
+        }
+    }
+
+    /**
+     * Cierra la conexión con error y avisa al dueño del suscriptor para que deje de enviarle alertas.
+     *
+     * @param error La causa del fallo.
+     */
+    private void fail(Throwable error) {
+        if (!failed.compareAndSet(false, true)) {
+            return;
+        }
+        lock.lock();
+        try {
+            pending.clear();
+        } finally {
+            lock.unlock();
+        }
+        emitter.completeWithError(error);
+        onFailure.accept(this);
+    }
+
+    /**
+     * Envía las alertas pendientes hasta vaciar el búfer.
+     */
+    private void drain() {
+        try {
+            while (true) {
+                ArrayList<LowStockAlertDto> batch;
+                lock.lock();
+                try {
+                    batch = new ArrayList<>(pending.values());
+                    pending.clear();
+                } finally {
+                    lock.unlock();
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                for (var alert : batch) {
+                    emitter.send(SseEmitter.event().name("low-stock").data(alert));
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            fail(e);
+            return;
+        } finally {
+            draining.set(false);
+        }
+
+        // Una alerta pudo llegar entre el último vaciado y la liberación de la marca
+        boolean hasPending;
+        lock.lock();
+        try {
+            hasPending = !pending.isEmpty();
+        } finally {
+            lock.unlock();
+        }
+        if (hasPending) {
+            scheduleDrain();
+        }
+    }
+}
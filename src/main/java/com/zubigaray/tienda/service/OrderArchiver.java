@@ -0,0 +1,138 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.OrderLineDto;
+import com.zubigaray.tienda.model.ArchivedOrder;
+import com.zubigaray.tienda.repo.ArchivedOrderRepo;
+import com.zubigaray.tienda.repo.OrderDetailRepo;
+import com.zubigaray.tienda.repo.OrderRepo;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Proceso en segundo plano que mueve los pedidos que superaron el período de retención desde las tablas
+ * "Orders" y "OrderDetails" a la tabla compacta "OrdersArchive".
+ * <p>
+ * Cada lote se copia y se elimina en una única transacción, por lo que un pedido nunca está en ambas tablas
+ * ni en ninguna. Expone las métricas {@code tienda.orders.hot} (pedidos en la tabla "Orders"),
+ * {@code tienda.orders.archived} (pedidos en la tabla "OrdersArchive") y {@code tienda.orders.archive.batch} (duración
+ * de cada lote). Las dos primeras cuentan las filas de las tablas y se actualizan después de cada pasada.
+ */
+@Component
+public class OrderArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiver.class);
+
+    private static final String INSERT_ARCHIVE_SQL = "INSERT INTO orders_archive (id, user_id, date, total_price, line_items, archived_at)"
+            + " VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final OrderRepo orderRepo;
+    private final OrderDetailRepo orderDetailRepo;
+    private final ArchivedOrderRepo archivedOrderRepo;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+
+    private final AtomicLong hotOrders = new AtomicLong();
+    private final AtomicLong archivedOrders = new AtomicLong();
+    private final Timer batchTimer;
+
+    /**
+     * Constructor para la clase OrderArchiver.
+     *
+     * @param orderRepo           Repositorio de pedidos.
+     * @param orderDetailRepo     Repositorio de detalles de pedido.
+     * @param archivedOrderRepo   Repositorio de pedidos archivados.
+     * @param jdbcTemplate        Plantilla JDBC para insertar los pedidos archivados en lote.
+     * @param transactionTemplate Plantilla para ejecutar cada lote en su propia transacción.
+     * @param meterRegistry       Registro de métricas.
+     * @param retentionDays       Días que un pedido permanece en las tablas principales.
+     * @param batchSize           Cantidad máxima de pedidos por lote.
+     */
+    public OrderArchiver(OrderRepo orderRepo, OrderDetailRepo orderDetailRepo, ArchivedOrderRepo archivedOrderRepo,
+                         JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                         @Value("${tienda.archive.retention-days:365}") int retentionDays,
+                         @Value("${tienda.archive.batch-size:500}") int batchSize) {
+        this.orderRepo = orderRepo;
+        this.orderDetailRepo = orderDetailRepo;
+        this.archivedOrderRepo = archivedOrderRepo;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+
+        Gauge.builder("tienda.orders.hot", hotOrders, AtomicLong::get)
+                .description("Orders kept in the hot Orders table")
+                .register(meterRegistry);
+        Gauge.builder("tienda.orders.archived", archivedOrders, AtomicLong::get)
+                .description("Orders kept in the OrdersArchive table")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("tienda.orders.archive.batch").register(meterRegistry);
+    }
+
+    /**
+     * Archiva lote por lote los pedidos anteriores al período de retención hasta que no queden pedidos por archivar.
+     */
+    @Scheduled(fixedDelayString = "${tienda.archive.delay-ms:3600000}", initialDelayString = "${tienda.archive.initial-delay-ms:60000}")
+    public void archive() {
+        var cutoff = LocalDateTime.now().minusDays(retentionDays);
+        try {
+            int archived;
+            do {
+                archived = batchTimer.record(() -> archiveBatch(cutoff));
+            } while (archived == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Order archive batch failed", e);
+        } finally {
+            hotOrders.set(orderRepo.count());
+            archivedOrders.set(archivedOrderRepo.count());
+        }
+    }
+
+    /**
+     * Copia a la tabla de archivo y elimina de las tablas principales el siguiente lote de pedidos antiguos.
+     *
+     * @param cutoff Fecha límite; se archivan los pedidos anteriores a ella.
+     * @return La cantidad de pedidos archivados.
+     */
+    int archiveBatch(LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            var ids = orderRepo.findIdsByDateBefore(cutoff, Limit.of(batchSize));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+
+            var linesByOrder = orderDetailRepo.findLinesByOrderIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(OrderLineDto::orderId));
+            var archivedAt = Timestamp.valueOf(LocalDateTime.now());
+
+            var rows = new ArrayList<Object[]>(ids.size());
+            for (var order : orderRepo.findSummariesByIdIn(ids)) {
+                var lines = linesByOrder.getOrDefault(order.id(), List.of());
+                rows.add(new Object[]{order.id(), order.userId(), Timestamp.valueOf(order.date()), order.totalPrice(),
+                        ArchivedOrder.encodeLines(lines), archivedAt});
+            }
+            jdbcTemplate.batchUpdate(INSERT_ARCHIVE_SQL, rows);
+
+            orderDetailRepo.deleteByOrderIdIn(ids);
+            orderRepo.deleteByIdIn(ids);
+            return ids.size();
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.model.OrderOutboxEvent;
+
+import java.util.List;
+
+/**
+ * Publicador de eventos de pedido hacia los sistemas externos (logística, facturación).
+ * El relay de la tabla outbox entrega los eventos en lotes y en orden de creación. Si la publicación
+ * falla, la implementación debe lanzar una excepción para que el lote completo se reintente.
+ */
+public interface OrderEventPublisher {
+
+    /**
+     * Publica un lote de eventos respetando el orden recibido.
+     *
+     * @param events Los eventos a publicar, ordenados por identificador.
+     * @throws Exception Si alguno de los eventos no pudo publicarse.
+     */
+    void publish(List<OrderOutboxEvent> events) throws Exception;
+}
@@ -0,0 +1,24 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.enums.ExportFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Servicio de exportación de pedidos para contabilidad.
+ */
+public interface OrderExportService {
+
+    /**
+     * Escribe los pedidos de un rango de fechas, con un renglón por detalle de pedido, directamente en un flujo de salida.
+     *
+     * @param from         Fecha de inicio (inclusive).
+     * @param to           Fecha de fin (exclusive).
+     * @param format       Formato de la exportación.
+     * @param outputStream Flujo en el que se escriben los renglones.
+     * @throws IOException Si ocurre un error al escribir en el flujo.
+     */
+    void export(LocalDate from, LocalDate to, ExportFormat format, OutputStream outputStream) throws IOException;
+}
@@ -0,0 +1,227 @@
+package com.zubigaray.tienda.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zubigaray.tienda.enums.ExportFormat;
+import com.zubigaray.tienda.model.ArchivedOrder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Implementación del servicio de exportación de pedidos ({@link OrderExportService}).
+ * <p>
+ * Los renglones se leen con un cursor JDBC de solo avance y un tamaño de lote fijo, sobre el pool de exportaciones
+ * (ver {@link com.zubigaray.tienda.config.ExportDataSourceConfig}), cuyas conexiones usan {@code useCursorFetch=true}
+ * para que el driver de MySQL traiga las filas del servidor de a {@code fetchSize}, y se escriben en el flujo de salida
+ * a medida que llegan. No se crean entidades ni se acumulan filas, por lo que la memoria utilizada no depende del tamaño del rango.
+ */
+@Service
+public class OrderExportServiceImp implements OrderExportService {
+
+    private static final String ORDER_LINES_SQL = "SELECT o.id, o.date, u.user_name, o.total_price, d.product_id, d.quantity, d.sub_total"
+            + " FROM orders o JOIN users u ON u.id = o.user_id JOIN order_details d ON d.order_id = o.id"
+            + " WHERE o.date >= ? AND o.date < ? ORDER BY o.id, d.id";
+
+    private static final String ARCHIVED_ORDERS_SQL = "SELECT a.id, a.date, u.user_name, a.total_price, a.line_items"
+            + " FROM orders_archive a JOIN users u ON u.id = a.user_id"
+            + " WHERE a.date >= ? AND a.date < ? ORDER BY a.id";
+
+    private static final String CSV_HEADER = "order_id,order_date,user_name,order_total,product_id,quantity,sub_total,archived\n";
+
+    private final JdbcTemplate exportJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor para la clase OrderExportServiceImp.
+     *
+     * @param dataSource   Pool de conexiones de las exportaciones.
+     * @param objectMapper Mapper utilizado para escribir los renglones NDJSON.
+     * @param fetchSize    Cantidad de filas que el cursor trae del servidor en cada viaje.
+     */
+    public OrderExportServiceImp(@Qualifier("exportDataSource") DataSource dataSource, ObjectMapper objectMapper,
+                                 @Value("${tienda.export.fetch-size:1000}") int fetchSize) {
+        this.exportJdbcTemplate = new JdbcTemplate(dataSource);
+        this.exportJdbcTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escribe los pedidos recientes y luego los archivados del rango, con un renglón por detalle de pedido.
+     *
+     * @param from         Fecha de inicio (inclusive).
+     * @param to           Fecha de fin (exclusive).
+     * @param format       Formato de la exportación.
+     * @param outputStream Flujo en el que se escriben los renglones.
+     * @throws IOException Si ocurre un error al escribir en el flujo.
+     */
+    @Override
+    public void export(LocalDate from, LocalDate to, ExportFormat format, OutputStream outputStream) throws IOException {
+        var fromDate = Timestamp.valueOf(from.atStartOfDay());
+        var toDate = Timestamp.valueOf(to.atStartOfDay());
+
+        var writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 16 * 1024);
+        var rowWriter = format == ExportFormat.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer, objectMapper);
+
+        try {
+            exportJdbcTemplate.query(ORDER_LINES_SQL, resultSet -> {
+                rowWriter.write(resultSet.getLong(1), resultSet.getTimestamp(2).toLocalDateTime(), resultSet.getString(3),
+                        resultSet.getBigDecimal(4), resultSet.getLong(5), resultSet.getInt(6), resultSet.getBigDecimal(7), false);
+            }, fromDate, toDate);
+
+            exportJdbcTemplate.query(ARCHIVED_ORDERS_SQL, resultSet -> {
+                var orderId = resultSet.getLong(1);
+                var date = resultSet.getTimestamp(2).toLocalDateTime();
+                var userName = resultSet.getString(3);
+                var totalPrice = resultSet.getBigDecimal(4);
+                for (var line : ArchivedOrder.decodeLines(orderId, resultSet.getString(5))) {
+                    rowWriter.write(orderId, date, userName, totalPrice, line.productId(), line.quantity(), line.subTotal(), true);
+                }
+            }, fromDate, toDate);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        rowWriter.finish();
+    }
+
+    /**
+     * Escritor de renglones de exportación para un formato concreto.
+     */
+    private abstract static class RowWriter {
+
+        protected final Writer writer;
+
+        RowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        /**
+         * Escribe un renglón. Los errores de escritura se propagan como {@link UncheckedIOException} para poder
+         * atravesar el callback de JDBC y cortar la consulta cuando el cliente se desconecta.
+         */
+        final void write(long orderId, LocalDateTime date, String userName, BigDecimal totalPrice,
+                         long productId, int quantity, BigDecimal subTotal, boolean archived) {
+            try {
+                writeRow(orderId, date, userName, totalPrice, productId, quantity, subTotal, archived);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        abstract void writeRow(long orderId, LocalDateTime date, String userName, BigDecimal totalPrice,
+                               long productId, int quantity, BigDecimal subTotal, boolean archived) throws IOException;
+
+        void finish() throws IOException {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Escritor de renglones en formato CSV.
+     */
+    private static final class CsvRowWriter extends RowWriter {
+
+        private boolean headerWritten;
+
+        CsvRowWriter(Writer writer) {
+            super(writer);
+        }
+
+        @Override
+        void writeRow(long orderId, LocalDateTime date, String userName, BigDecimal totalPrice,
+                      long productId, int quantity, BigDecimal subTotal, boolean archived) throws IOException {
+            writeHeader();
+            writer.write(Long.toString(orderId));
+            writer.write(',');
+            writer.write(date.toString());
+            writer.write(',');
+            writeEscaped(userName);
+            writer.write(',');
+            writer.write(totalPrice.toPlainString());
+            writer.write(',');
+            writer.write(Long.toString(productId));
+            writer.write(',');
+            writer.write(Integer.toString(quantity));
+            writer.write(',');
+            writer.write(subTotal.toPlainString());
+            writer.write(',');
+            writer.write(Boolean.toString(archived));
+            writer.write('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            writeHeader();
+            super.finish();
+        }
+
+        private void writeHeader() throws IOException {
+            if (!headerWritten) {
+                writer.write(CSV_HEADER);
+                headerWritten = true;
+            }
+        }
+
+        private void writeEscaped(String value) throws IOException {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    /**
+     * Escritor de renglones en formato NDJSON, utilizando el generador de streaming de Jackson.
+     */
+    private static final class NdjsonRowWriter extends RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(Writer writer, ObjectMapper objectMapper) throws IOException {
+            super(writer);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        void writeRow(long orderId, LocalDateTime date, String userName, BigDecimal totalPrice,
+                      long productId, int quantity, BigDecimal subTotal, boolean archived) throws IOException {
+            generator.writeStartObject();
+            generator.writeNumberField("orderId", orderId);
+            generator.writeStringField("orderDate", date.toString());
+            generator.writeStringField("userName", userName);
+            generator.writeNumberField("orderTotal", totalPrice);
+            generator.writeNumberField("productId", productId);
+            generator.writeNumberField("quantity", quantity);
+            generator.writeNumberField("subTotal", subTotal);
+            generator.writeBooleanField("archived", archived);
+            generator.writeEndObject();
+            generator.flush();
+            writer.write('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            generator.close();
+            super.finish();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.OrderHistoryDto;
+
+import java.util.List;
+
+/**
+ * Servicio de historial de pedidos. Combina los pedidos recientes y los archivados de forma transparente.
+ */
+public interface OrderHistoryService {
+
+    /**
+     * Busca todos los pedidos de un usuario, recientes y archivados, del más reciente al más antiguo.
+     *
+     * @param userName El nombre de usuario.
+     * @return La lista de pedidos del usuario.
+     */
+    List<OrderHistoryDto> findByUser(String userName);
+}
@@ -0,0 +1,76 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.OrderHistoryDto;
+import com.zubigaray.tienda.dto.OrderLineDto;
+import com.zubigaray.tienda.dto.OrderSummaryDto;
+import com.zubigaray.tienda.model.ArchivedOrder;
+import com.zubigaray.tienda.repo.ArchivedOrderRepo;
+import com.zubigaray.tienda.repo.OrderDetailRepo;
+import com.zubigaray.tienda.repo.OrderRepo;
+import com.zubigaray.tienda.repo.UserRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio de historial de pedidos ({@link OrderHistoryService}).
+ * Lee los pedidos recientes de las tablas "Orders" y "OrderDetails" y los archivados de "OrdersArchive",
+ * y los devuelve como una única lista.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderHistoryServiceImp implements OrderHistoryService {
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderDetailRepo orderDetailRepo;
+
+    @Autowired
+    private ArchivedOrderRepo archivedOrderRepo;
+
+    /**
+     * Busca todos los pedidos de un usuario, recientes y archivados, del más reciente al más antiguo.
+     *
+     * @param userName El nombre de usuario.
+     * @return La lista de pedidos del usuario.
+     * @throws RuntimeException Si el usuario no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<OrderHistoryDto> findByUser(String userName) {
+        var user = userRepo.findByUserName(userName)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        var history = new ArrayList<OrderHistoryDto>();
+
+        var hotOrders = orderRepo.findSummariesByUserId(user.getId());
+        if (!hotOrders.isEmpty()) {
+            var ids = hotOrders.stream().map(OrderSummaryDto::id).toList();
+            var linesByOrder = orderDetailRepo.findLinesByOrderIdIn(ids).stream()
+                    .collect(Collectors.groupingBy(OrderLineDto::orderId));
+            for (var order : hotOrders) {
+                history.add(new OrderHistoryDto(order.id(), order.date(), order.totalPrice(), false,
+                        linesByOrder.getOrDefault(order.id(), List.of())));
+            }
+        }
+
+        for (var archivedOrder : archivedOrderRepo.findByUserIdOrderByDateDesc(user.getId())) {
+            history.add(new OrderHistoryDto(archivedOrder.getId(), archivedOrder.getDate(), archivedOrder.getTotalPrice(), true,
+                    ArchivedOrder.decodeLines(archivedOrder.getId(), archivedOrder.getLineItems())));
+        }
+
+        history.sort(Comparator.comparing(OrderHistoryDto::date).reversed());
+        return history;
+    }
+}
@@ -0,0 +1,134 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.repo.OrderOutboxRepo;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Proceso en segundo plano que vacía la tabla outbox de pedidos en lotes y entrega los eventos
+ * al {@link OrderEventPublisher} configurado.
+ * <p>
+ * Garantías:
+ * - Entrega al menos una vez: un evento solo se marca como publicado después de que el publicador
+ *   confirmó el lote y en la misma transacción que lo leyó; si algo falla, el lote se vuelve a enviar.
+ * - Orden por pedido: los eventos se leen por identificador creciente y un lote fallido detiene el
+ *   vaciado, por lo que ningún evento posterior se publica antes que uno anterior.
+ * <p>
+ * Expone las métricas {@code tienda.outbox.pending}, {@code tienda.outbox.lag} (antigüedad en segundos
+ * del evento pendiente más antiguo), {@code tienda.outbox.published}, {@code tienda.outbox.failures}
+ * y {@code tienda.outbox.batch}.
+ */
+@Component
+public class OrderOutboxRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderOutboxRelay.class);
+
+    private final OrderOutboxRepo orderOutboxRepo;
+    private final OrderEventPublisher orderEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer batchTimer;
+
+    /**
+     * Constructor para la clase OrderOutboxRelay.
+     *
+     * @param orderOutboxRepo     Repositorio de eventos outbox.
+     * @param orderEventPublisher Publicador al que se entregan los eventos.
+     * @param transactionTemplate Plantilla para ejecutar cada lote en su propia transacción.
+     * @param meterRegistry       Registro de métricas.
+     * @param batchSize           Cantidad máxima de eventos por lote.
+     */
+    public OrderOutboxRelay(OrderOutboxRepo orderOutboxRepo, OrderEventPublisher orderEventPublisher,
+                            TransactionTemplate transactionTemplate, MeterRegistry meterRegistry,
+                            @Value("${tienda.outbox.batch-size:100}") int batchSize) {
+        this.orderOutboxRepo = orderOutboxRepo;
+        this.orderEventPublisher = orderEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+
+        Gauge.builder("tienda.outbox.pending", pending, AtomicLong::get)
+                .description("Order events waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("tienda.outbox.lag", lagSeconds, AtomicLong::get)
+                .description("Age of the oldest pending order event")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.publishedCounter = Counter.builder("tienda.outbox.published").register(meterRegistry);
+        this.failureCounter = Counter.builder("tienda.outbox.failures").register(meterRegistry);
+        this.batchTimer = Timer.builder("tienda.outbox.batch").register(meterRegistry);
+    }
+
+    /**
+     * Vacía la tabla outbox lote por lote hasta que no queden eventos pendientes o un lote falle.
+     * Se ejecuta periódicamente con un retardo fijo entre ejecuciones.
+     */
+    @Scheduled(fixedDelayString = "${tienda.outbox.relay-delay-ms:1000}")
+    public void relay() {
+        try {
+            int published;
+            do {
+                published = batchTimer.record(this::publishNextBatch);
+            } while (published == batchSize);
+        } catch (RuntimeException e) {
+            failureCounter.increment();
+            log.warn("Order outbox batch could not be published", e);
+        } finally {
+            refreshLagMetrics();
+        }
+    }
+
+    /**
+     * Lee, publica y marca como publicado el siguiente lote de eventos dentro de una única transacción.
+     *
+     * @return La cantidad de eventos publicados.
+     */
+    int publishNextBatch() {
+        var published = transactionTemplate.execute(status -> {
+            var events = orderOutboxRepo.findByPublishedAtIsNullOrderByIdAsc(Limit.of(batchSize));
+            if (events.isEmpty()) {
+                return 0;
+            }
+
+            try {
+                orderEventPublisher.publish(events);
+            } catch (Exception e) {
+                throw new IllegalStateException(e.getMessage(), e);
+            }
+
+            var now = LocalDateTime.now();
+            events.forEach(event -> event.setPublishedAt(now));
+            return events.size();
+        });
+
+        publishedCounter.increment(published);
+        return published;
+    }
+
+    /**
+     * Actualiza los valores de las métricas de eventos pendientes y de retraso del relay.
+     */
+    private void refreshLagMetrics() {
+        pending.set(orderOutboxRepo.countByPublishedAtIsNull());
+        lagSeconds.set(orderOutboxRepo.findFirstByPublishedAtIsNullOrderByIdAsc()
+                .map(event -> Duration.between(event.getCreatedAt(), LocalDateTime.now()).toSeconds())
+                .orElse(0L));
+    }
+}
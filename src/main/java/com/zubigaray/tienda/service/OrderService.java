@@ -0,0 +1,17 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.model.Order;
+
+/**
+ * Servicio de pedidos que proporciona las operaciones de compra del sistema.
+ */
+public interface OrderService {
+
+    /**
+     * Convierte el carrito de compras de un usuario en un pedido confirmado.
+     *
+     * @param userName El nombre de usuario que realiza la compra.
+     * @return El pedido creado.
+     */
+    Order checkout(String userName);
+}
@@ -0,0 +1,147 @@
+package com.zubigaray.tienda.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zubigaray.tienda.dto.OrderEventDto;
+import com.zubigaray.tienda.dto.StockChangeEvent;
+import com.zubigaray.tienda.enums.OrderEventType;
+import com.zubigaray.tienda.model.Order;
+import com.zubigaray.tienda.model.OrderDetail;
+import com.zubigaray.tienda.model.OrderOutboxEvent;
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.repo.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Implementación del servicio de pedidos ({@link OrderService}).
+ * Esta clase crea el pedido, sus detalles, descuenta el stock, actualiza los acumulados de ventas y registra
+ * el evento en la tabla outbox, todo dentro de la misma transacción, de modo que el evento existe si y solo si el pedido existe.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderServiceImp implements OrderService {
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private ShoppingCartRepo shoppingCartRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderDetailRepo orderDetailRepo;
+
+    @Autowired
+    private OrderOutboxRepo orderOutboxRepo;
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Convierte el carrito de compras de un usuario en un pedido confirmado y vacía el carrito.
+     *
+     * @param userName El nombre de usuario que realiza la compra.
+     * @return El pedido creado.
+     * @throws RuntimeException Si el usuario no existe, el carrito está vacío o no hay stock suficiente.
+     */
+    @Override
+    @Transactional
+    public Order checkout(String userName) {
+        var user = userRepo.findByUserName(userName)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+
+        var productIds = shoppingCartRepo.findProductIdsByUser(user);
+        if (productIds.isEmpty()) {
+            throw new RuntimeException("Empty Cart");
+        }
+
+        // Bloquea los productos para que dos compras simultáneas no descuenten el mismo stock. Todas las compras los
+        // bloquean en orden de identificador, de modo que dos compras con los mismos productos esperan una a la otra
+        // en lugar de bloquearse mutuamente. Se bloquean antes de cargar el carrito para que el stock leído sea el de
+        // la fila bloqueada y no el de una entidad ya cargada.
+        var lockedProducts = new HashMap<Long, Product>();
+        for (var productId : productIds) {
+            lockedProducts.put(productId, productRepo.findByIdForUpdate(productId)
+                    .orElseThrow(() -> new RuntimeException("Product not found")));
+        }
+        var cartItems = shoppingCartRepo.findByUserOrderByIdAsc(user);
+
+        var order = new Order();
+        order.setUser(user);
+        order.setDate(LocalDateTime.now());
+        order.setTotalPrice(BigDecimal.ZERO);
+        orderRepo.save(order);
+
+        var details = new ArrayList<OrderDetail>(cartItems.size());
+        var totalPrice = BigDecimal.ZERO;
+
+        for (var cartItem : cartItems) {
+            var product = lockedProducts.get(cartItem.getProduct().getId());
+            if (product == null) {
+                throw new RuntimeException("Cart changed during checkout");
+            }
+
+            if (product.getStock() < cartItem.getQuantity()) {
+                throw new RuntimeException("Insufficient Stock");
+            }
+            var previousStock = product.getStock();
+            product.setStock(previousStock - cartItem.getQuantity());
+            applicationEventPublisher.publishEvent(new StockChangeEvent(product.getId(), product.getName(), previousStock, product.getStock()));
+
+            var subTotal = product.getPrice().multiply(BigDecimal.valueOf(cartItem.getQuantity()));
+            details.add(new OrderDetail(null, order, product, cartItem.getQuantity(), subTotal));
+            totalPrice = totalPrice.add(subTotal);
+        }
+
+        order.setTotalPrice(totalPrice);
+        orderDetailRepo.saveAll(details);
+        shoppingCartRepo.deleteAll(cartItems);
+
+        salesRollupService.record(order, details);
+        orderOutboxRepo.save(toOutboxEvent(order, details));
+
+        return order;
+    }
+
+    /**
+     * Construye el evento outbox que describe el pedido creado.
+     *
+     * @param order   El pedido creado.
+     * @param details Los detalles del pedido.
+     * @return El evento a guardar en la tabla outbox.
+     */
+    private OrderOutboxEvent toOutboxEvent(Order order, List<OrderDetail> details) {
+        var lines = details.stream()
+                .map(detail -> new OrderEventDto.Line(detail.getProduct().getId(), detail.getQuantity(), detail.getSubTotal()))
+                .toList();
+        var eventDto = new OrderEventDto(order.getId(), order.getUser().getUserName(), order.getDate(), order.getTotalPrice(), lines);
+
+        try {
+            return new OrderOutboxEvent(null, order.getId(), OrderEventType.ORDER_CREATED,
+                    objectMapper.writeValueAsString(eventDto), LocalDateTime.now(), null);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Order event could not be serialized", e);
+        }
+    }
+}
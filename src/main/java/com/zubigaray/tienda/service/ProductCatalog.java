@@ -0,0 +1,342 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.ProductDto;
+import com.zubigaray.tienda.dto.StockChangeEvent;
+import com.zubigaray.tienda.utils.CatalogSnapshotFile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Copia en memoria del catálogo (id, nombre, precio y stock de cada producto) desde la que se sirve el listado de
+ * productos sin consultar la base de datos, respaldada por una instantánea binaria en disco para los reinicios.
+ * <p>
+ * Al arrancar se mapea la instantánea ({@link CatalogSnapshotFile}) y el catálogo queda disponible de inmediato, sin
+ * que todos los nodos recarguen los productos de MySQL a la vez después de un despliegue. En segundo plano se
+ * reconcilia con la base usando la columna {@code updated_at} como watermark: cada pasada lee solo los productos
+ * modificados desde la mayor marca vista, repitiendo un margen ({@code watermark-overlap-ms}) para no perder las
+ * transacciones que confirmaron tarde con una marca anterior. Sin instantánea, la primera pasada carga el catálogo
+ * completo y hasta entonces el listado se sirve desde la base. Los cambios de stock confirmados en este nodo se
+ * aplican al instante; los de otros nodos, en la siguiente pasada.
+ * <p>
+ * La instantánea se reescribe periódicamente y al detener la aplicación si el catálogo cambió. Como la API no borra
+ * productos, los borrados solo se detectan en la primera pasada tras cargar una instantánea, comparando la cantidad de
+ * productos, lo que provoca una recarga completa.
+ * <p>
+ * Expone las métricas {@code tienda.catalog.warm-up} (tiempo hasta tener el catálogo disponible),
+ * {@code tienda.catalog.reads} (listados servidos desde el catálogo o desde la base, por {@code source}),
+ * {@code tienda.catalog.reconcile} (duración de cada pasada), {@code tienda.catalog.reconcile.rows} (filas leídas de
+ * la base) y {@code tienda.catalog.size}.
+ */
+@Component
+public class ProductCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductCatalog.class);
+
+    private static final String SELECT_COLUMNS = "SELECT id, name, price, stock, updated_at FROM products";
+    private static final String SELECT_ALL_SQL = SELECT_COLUMNS + " ORDER BY id";
+    private static final String SELECT_CHANGED_SQL = SELECT_COLUMNS + " WHERE updated_at >= ? ORDER BY updated_at, id";
+    private static final String COUNT_SQL = "SELECT COUNT(*) FROM products";
+    private static final Sort BY_ID = Sort.by("id");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final Path snapshotFile;
+    private final long watermarkOverlapMillis;
+
+    private volatile State state; // null hasta que el catálogo está disponible
+    private volatile boolean verifyCount;
+    private final AtomicLong changes = new AtomicLong();
+    private volatile long writtenChanges;
+
+    private final AtomicLong warmUpMillis = new AtomicLong(-1);
+    private final Counter catalogReads;
+    private final Counter databaseReads;
+    private final Counter reconciledRows;
+    private final Timer reconcileTimer;
+
+    /**
+     * Constructor para la clase ProductCatalog.
+     *
+     * @param jdbcTemplate           Plantilla JDBC para leer los productos.
+     * @param meterRegistry          Registro de métricas.
+     * @param enabled                Indica si el listado de productos se sirve desde el catálogo en memoria.
+     * @param snapshotFile           Ruta del archivo de la instantánea.
+     * @param watermarkOverlapMillis Margen que cada pasada vuelve a leer antes del watermark.
+     */
+    public ProductCatalog(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry,
+                          @Value("${tienda.catalog.snapshot.enabled:false}") boolean enabled,
+                          @Value("${tienda.catalog.snapshot.file:catalog.snapshot}") String snapshotFile,
+                          @Value("${tienda.catalog.snapshot.watermark-overlap-ms:5000}") long watermarkOverlapMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.snapshotFile = Path.of(snapshotFile);
+        this.watermarkOverlapMillis = watermarkOverlapMillis;
+
+        TimeGauge.builder("tienda.catalog.warm-up", warmUpMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time until the product catalog could be served from memory, -1 until then")
+                .register(meterRegistry);
+        Gauge.builder("tienda.catalog.size", this, catalog -> catalog.state != null ? catalog.state.ids.length : 0)
+                .description("Products held in the in-memory catalog")
+                .register(meterRegistry);
+        this.catalogReads = Counter.builder("tienda.catalog.reads").tag("source", "catalog")
+                .description("Product listings served from the in-memory catalog").register(meterRegistry);
+        this.databaseReads = Counter.builder("tienda.catalog.reads").tag("source", "database")
+                .description("Product listings served from the database").register(meterRegistry);
+        this.reconciledRows = Counter.builder("tienda.catalog.reconcile.rows")
+                .description("Product rows read from the database to build or reconcile the catalog")
+                .register(meterRegistry);
+        this.reconcileTimer = Timer.builder("tienda.catalog.reconcile").register(meterRegistry);
+    }
+
+    /**
+     * Carga la instantánea al arrancar, antes de atender solicitudes. Si no existe o no es válida, el catálogo queda
+     * sin cargar hasta la primera reconciliación.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    public void loadSnapshot() {
+        if (!enabled) {
+            return;
+        }
+        var start = System.nanoTime();
+        try {
+            var snapshot = CatalogSnapshotFile.read(snapshotFile);
+            if (snapshot.isEmpty()) {
+                log.info("No usable catalog snapshot at {}, loading the catalog from the database", snapshotFile.toAbsolutePath());
+                return;
+            }
+            var products = new ConcurrentHashMap<Long, ProductDto>(snapshot.get().products().size() * 4 / 3 + 1);
+            snapshot.get().products().forEach(product -> products.put(product.id(), product));
+            state = new State(sortedIds(products), products, snapshot.get().watermark());
+            verifyCount = true;
+            writtenChanges = changes.get();
+            warmedUp(start, "snapshot");
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not read the catalog snapshot at {}", snapshotFile.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Obtiene una página del catálogo desde memoria. Solo se resuelven las páginas ordenadas por identificador
+     * ascendente (el orden por defecto del listado) y solo una vez que el catálogo está cargado.
+     *
+     * @param pageable La página solicitada.
+     * @return La página de productos, o vacío si debe consultarse la base de datos.
+     */
+    public Optional<Page<ProductDto>> findPage(Pageable pageable) {
+        var current = state;
+        if (current == null || !(pageable.getSort().isUnsorted() || pageable.getSort().equals(BY_ID))) {
+            if (enabled) {
+                databaseReads.increment();
+            }
+            return Optional.empty();
+        }
+        catalogReads.increment();
+
+        var ids = current.ids;
+        var content = new ArrayList<ProductDto>();
+        if (pageable.isPaged() && pageable.getOffset() < ids.length) {
+            var end = (int) Math.min(ids.length, pageable.getOffset() + pageable.getPageSize());
+            for (int i = (int) pageable.getOffset(); i < end; i++) {
+                content.add(current.products.get(ids[i]));
+            }
+        } else if (pageable.isUnpaged()) {
+            for (var id : ids) {
+                content.add(current.products.get(id));
+            }
+        }
+        return Optional.of(new PageImpl<>(content, pageable, ids.length));
+    }
+
+    /**
+     * Aplica al catálogo los cambios de stock confirmados en este nodo, sin esperar a la siguiente reconciliación.
+     *
+     * @param event El cambio de stock.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStockChange(StockChangeEvent event) {
+        var current = state;
+        if (current == null) {
+            return;
+        }
+        current.products.computeIfPresent(event.productId(),
+                (id, product) -> new ProductDto(id, product.name(), product.price(), event.newStock()));
+        changes.incrementAndGet();
+    }
+
+    /**
+     * Reconcilia el catálogo con la base: lo carga completo si todavía no está disponible o, si ya lo está, lee los
+     * productos modificados desde el watermark.
+     */
+    @Scheduled(fixedDelayString = "${tienda.catalog.snapshot.reconcile-delay-ms:5000}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            reconcileTimer.record(() -> {
+                var current = state;
+                if (current == null) {
+                    loadFromDatabase();
+                } else {
+                    applyChanges(current);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.warn("Catalog reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Escribe la instantánea si el catálogo cambió desde la última escritura.
+     */
+    @Scheduled(fixedDelayString = "${tienda.catalog.snapshot.write-delay-ms:300000}",
+            initialDelayString = "${tienda.catalog.snapshot.write-delay-ms:300000}")
+    public void writeSnapshot() {
+        var current = state;
+        var changesToWrite = changes.get();
+        if (!enabled || current == null || changesToWrite == writtenChanges) {
+            return;
+        }
+        try {
+            var products = new ArrayList<ProductDto>(current.ids.length);
+            for (var id : current.ids) {
+                products.add(current.products.get(id));
+            }
+            CatalogSnapshotFile.write(snapshotFile, new CatalogSnapshotFile.Snapshot(current.watermark, products));
+            writtenChanges = changesToWrite;
+            log.info("Catalog snapshot written to {} ({} products)", snapshotFile.toAbsolutePath(), products.size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write the catalog snapshot to {}", snapshotFile.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Escribe la instantánea al detener la aplicación, para que el próximo arranque parta del catálogo más reciente.
+     */
+    @EventListener(ContextClosedEvent.class)
+    public void onShutdown() {
+        writeSnapshot();
+    }
+
+    /**
+     * Indica si el catálogo está cargado y se sirve desde memoria.
+     *
+     * @return {@code true} si el catálogo está disponible.
+     */
+    public boolean isReady() {
+        return state != null;
+    }
+
+    private void loadFromDatabase() {
+        var start = System.nanoTime();
+        var products = new ConcurrentHashMap<Long, ProductDto>();
+        var watermark = new LocalDateTime[1];
+        jdbcTemplate.query(SELECT_ALL_SQL, rs -> {
+            var product = toProduct(rs);
+            products.put(product.id(), product);
+            watermark[0] = max(watermark[0], rs.getTimestamp("updated_at"));
+        });
+        reconciledRows.increment(products.size());
+        state = new State(sortedIds(products), products, watermark[0]);
+        verifyCount = false;
+        changes.incrementAndGet();
+        warmedUp(start, "database");
+    }
+
+    private void applyChanges(State current) {
+        if (current.watermark == null) {
+            loadFromDatabase();
+            return;
+        }
+        var from = Timestamp.valueOf(current.watermark.minusNanos(watermarkOverlapMillis * 1_000_000));
+        var watermark = new LocalDateTime[]{current.watermark};
+        var newIds = new ArrayList<Long>();
+        var rows = new int[1];
+        jdbcTemplate.query(SELECT_CHANGED_SQL, rs -> {
+            var product = toProduct(rs);
+            if (!product.equals(current.products.put(product.id(), product))) {
+                changes.incrementAndGet();
+            }
+            if (Arrays.binarySearch(current.ids, product.id()) < 0) {
+                newIds.add(product.id());
+            }
+            watermark[0] = max(watermark[0], rs.getTimestamp("updated_at"));
+            rows[0]++;
+        }, from);
+        reconciledRows.increment(rows[0]);
+
+        var ids = newIds.isEmpty() ? current.ids : sortedIds(current.products);
+        state = new State(ids, current.products, watermark[0]);
+
+        if (verifyCount) {
+            verifyCount = false;
+            var count = jdbcTemplate.queryForObject(COUNT_SQL, Long.class);
+            if (count == null || count != ids.length) {
+                log.info("Catalog snapshot has {} products but the database has {}, reloading", ids.length, count);
+                loadFromDatabase();
+            }
+        }
+    }
+
+    private void warmedUp(long start, String source) {
+        var elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        warmUpMillis.compareAndSet(-1, elapsedMillis);
+        log.info("Catalog ready from {} in {} ms ({} products, watermark {})", source, elapsedMillis,
+                state.ids.length, state.watermark);
+    }
+
+    private static ProductDto toProduct(ResultSet rs) throws SQLException {
+        return new ProductDto(rs.getLong("id"), rs.getString("name"), rs.getBigDecimal("price"), rs.getInt("stock"));
+    }
+
+    private static LocalDateTime max(LocalDateTime current, Timestamp candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        var value = candidate.toLocalDateTime();
+        return current == null || value.isAfter(current) ? value : current;
+    }
+
+    private static long[] sortedIds(ConcurrentHashMap<Long, ProductDto> products) {
+        var ids = products.keySet().stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    /**
+     * Estado del catálogo: identificadores ordenados (para paginar), productos por identificador y watermark.
+     * Los productos se actualizan en el lugar; los identificadores y el watermark se reemplazan junto con el estado.
+     */
+    private record State(long[] ids, ConcurrentHashMap<Long, ProductDto> products, LocalDateTime watermark) {
+    }
+}
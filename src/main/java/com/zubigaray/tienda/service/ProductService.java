@@ -0,0 +1,28 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.ProductDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Servicio de productos que proporciona la consulta del catálogo y la reposición de stock.
+ */
+public interface ProductService {
+
+    /**
+     * Lista los productos del catálogo de forma paginada.
+     *
+     * @param pageable La página solicitada.
+     * @return La página de productos.
+     */
+    Page<ProductDto> listProducts(Pageable pageable);
+
+    /**
+     * Repone stock de un producto.
+     *
+     * @param productId El identificador del producto.
+     * @param quantity  La cantidad de unidades a agregar.
+     * @return El producto con el stock actualizado.
+     */
+    ProductDto restock(Long productId, int quantity);
+}
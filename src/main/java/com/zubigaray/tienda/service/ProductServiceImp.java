@@ -0,0 +1,82 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.ProductDto;
+import com.zubigaray.tienda.dto.StockChangeEvent;
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.repo.ProductRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Implementación del servicio de productos ({@link ProductService}).
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductServiceImp implements ProductService {
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private ProductCatalog productCatalog;
+
+    /**
+     * Lista los productos del catálogo de forma paginada. Si el catálogo en memoria está activo y cargado, la página se
+     * sirve desde él sin abrir una transacción; si no, se consulta la base (el repositorio usa su propia transacción
+     * de solo lectura).
+     *
+     * @param pageable La página solicitada.
+     * @return La página de productos.
+     */
+    @Override
+    public Page<ProductDto> listProducts(Pageable pageable) {
+        return productCatalog.findPage(pageable)
+                .orElseGet(() -> productRepo.findAll(pageable).map(ProductServiceImp::toDto));
+    }
+
+    /**
+     * Repone stock de un producto y publica el {@link StockChangeEvent} correspondiente.
+     *
+     * @param productId El identificador del producto.
+     * @param quantity  La cantidad de unidades a agregar.
+     * @return El producto con el stock actualizado.
+     * @throws RuntimeException Si la cantidad no es positiva, el producto no existe o el stock resultante no entra en un {@code int}.
+     */
+    @Override
+    @Transactional
+    public ProductDto restock(Long productId, int quantity) {
+        if (quantity <= 0) {
+            throw new RuntimeException("Invalid Quantity");
+        }
+        var product = productRepo.findByIdForUpdate(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+
+        var previousStock = product.getStock();
+        try {
+            product.setStock(Math.addExact(previousStock, quantity));
+        } catch (ArithmeticException e) {
+            throw new RuntimeException("Stock overflow", e);
+        }
+        applicationEventPublisher.publishEvent(new StockChangeEvent(product.getId(), product.getName(), previousStock, product.getStock()));
+
+        return toDto(product);
+    }
+
+    /**
+     * Convierte una entidad {@link Product} en su representación {@link ProductDto}.
+     *
+     * @param product El producto a convertir.
+     * @return El DTO del producto.
+     */
+    static ProductDto toDto(Product product) {
+        return new ProductDto(product.getId(), product.getName(), product.getPrice(), product.getStock());
+    }
+}
@@ -0,0 +1,44 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.SalesRollupDto;
+import com.zubigaray.tienda.enums.RollupGranularity;
+import com.zubigaray.tienda.model.Order;
+import com.zubigaray.tienda.model.OrderDetail;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Servicio de acumulados de ventas (rollups) por hora y por día, totales y por producto.
+ */
+public interface SalesRollupService {
+
+    /**
+     * Suma un pedido recién creado a los acumulados. Debe llamarse dentro de la transacción que crea el pedido.
+     *
+     * @param order   El pedido creado.
+     * @param details Los detalles del pedido.
+     */
+    void record(Order order, List<OrderDetail> details);
+
+    /**
+     * Recalcula los acumulados de un rango de fechas a partir de los pedidos guardados.
+     * Se utiliza para cargar el historial existente o corregir acumulados.
+     *
+     * @param from Inicio del rango (inclusive), se trunca al inicio del día.
+     * @param to   Fin del rango (exclusive), se trunca al inicio del día.
+     * @return La cantidad de acumulados escritos.
+     */
+    int rebuild(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Lee los acumulados de un producto, o del total, dentro de un rango de fechas.
+     *
+     * @param granularity La granularidad de los acumulados.
+     * @param productId   El identificador del producto, o {@code null} para el total.
+     * @param from        Inicio del rango (inclusive).
+     * @param to          Fin del rango (exclusive).
+     * @return La lista de acumulados ordenada por período.
+     */
+    List<SalesRollupDto> findSales(RollupGranularity granularity, Long productId, LocalDateTime from, LocalDateTime to);
+}
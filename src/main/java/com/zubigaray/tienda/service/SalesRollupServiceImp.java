@@ -0,0 +1,207 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.SalesRollupDto;
+import com.zubigaray.tienda.enums.RollupGranularity;
+import com.zubigaray.tienda.model.ArchivedOrder;
+import com.zubigaray.tienda.model.Order;
+import com.zubigaray.tienda.model.OrderDetail;
+import com.zubigaray.tienda.model.SalesRollup;
+import com.zubigaray.tienda.repo.SalesRollupRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Implementación del servicio de acumulados de ventas ({@link SalesRollupService}).
+ * Los acumulados se escriben con un upsert atómico de MySQL ({@code INSERT ... ON DUPLICATE KEY UPDATE}) a través de
+ * {@link JdbcTemplate}, que participa en la transacción JPA del pedido. Así dos compras simultáneas nunca pierden
+ * una suma y no se invalida la caché de Hibernate como ocurriría con una consulta nativa.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesRollupServiceImp implements SalesRollupService {
+
+    private static final String UPSERT_SQL = "INSERT INTO sales_rollups (granularity, bucket_start, product_id, revenue, quantity, order_count)"
+            + " VALUES (?, ?, ?, ?, ?, ?)"
+            + " ON DUPLICATE KEY UPDATE revenue = revenue + VALUES(revenue), quantity = quantity + VALUES(quantity),"
+            + " order_count = order_count + VALUES(order_count)";
+
+    private static final String DELETE_RANGE_SQL = "DELETE FROM sales_rollups WHERE bucket_start >= ? AND bucket_start < ?";
+
+    private static final String ORDER_LINES_SQL = "SELECT o.id, o.date, o.total_price, d.product_id, d.quantity, d.sub_total"
+            + " FROM orders o JOIN order_details d ON d.order_id = o.id"
+            + " WHERE o.date >= ? AND o.date < ? ORDER BY o.id";
+
+    private static final String ARCHIVED_ORDERS_SQL = "SELECT id, date, total_price, line_items FROM orders_archive"
+            + " WHERE date >= ? AND date < ?";
+
+    /**
+     * Orden de escritura de los acumulados. Escribir siempre en el mismo orden evita interbloqueos entre compras simultáneas.
+     */
+    private static final Comparator<BucketKey> KEY_ORDER = Comparator
+            .comparing(BucketKey::granularity)
+            .thenComparing(BucketKey::bucketStart)
+            .thenComparingLong(BucketKey::productId);
+
+    @Autowired
+    private SalesRollupRepo salesRollupRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Suma un pedido recién creado a los acumulados por hora y por día, totales y por producto.
+     *
+     * @param order   El pedido creado.
+     * @param details Los detalles del pedido.
+     */
+    @Override
+    @Transactional
+    public void record(Order order, List<OrderDetail> details) {
+        var totals = new TreeMap<BucketKey, Totals>(KEY_ORDER);
+
+        addOrder(totals, order.getDate(), order.getTotalPrice());
+        for (var detail : details) {
+            addLine(totals, order.getDate(), detail.getProduct().getId(), detail.getQuantity(), detail.getSubTotal());
+        }
+
+        upsert(totals);
+    }
+
+    /**
+     * Recalcula los acumulados de un rango de días: borra los acumulados existentes del rango y los vuelve a
+     * calcular recorriendo los detalles de pedido, recientes y archivados, sin cargar entidades en el contexto de persistencia.
+     * El rango debe corresponder a períodos cerrados para no competir con las compras en curso.
+     *
+     * @param from Inicio del rango (inclusive), se trunca al inicio del día.
+     * @param to   Fin del rango (exclusive), se trunca al inicio del día.
+     * @return La cantidad de acumulados escritos.
+     */
+    @Override
+    @Transactional
+    public int rebuild(LocalDateTime from, LocalDateTime to) {
+        var fromDay = Timestamp.valueOf(RollupGranularity.DAY.bucketOf(from));
+        var toDay = Timestamp.valueOf(RollupGranularity.DAY.bucketOf(to));
+        var totals = new TreeMap<BucketKey, Totals>(KEY_ORDER);
+        var lastOrderId = new long[]{-1L};
+
+        jdbcTemplate.query(ORDER_LINES_SQL, resultSet -> {
+            var orderId = resultSet.getLong(1);
+            var date = resultSet.getTimestamp(2).toLocalDateTime();
+            if (orderId != lastOrderId[0]) {
+                lastOrderId[0] = orderId;
+                addOrder(totals, date, resultSet.getBigDecimal(3));
+            }
+            addLine(totals, date, resultSet.getLong(4), resultSet.getInt(5), resultSet.getBigDecimal(6));
+        }, fromDay, toDay);
+
+        // Los pedidos que superaron el período de retención ya no están en "Orders"
+        jdbcTemplate.query(ARCHIVED_ORDERS_SQL, resultSet -> {
+            var orderId = resultSet.getLong(1);
+            var date = resultSet.getTimestamp(2).toLocalDateTime();
+            addOrder(totals, date, resultSet.getBigDecimal(3));
+            for (var line : ArchivedOrder.decodeLines(orderId, resultSet.getString(4))) {
+                addLine(totals, date, line.productId(), line.quantity(), line.subTotal());
+            }
+        }, fromDay, toDay);
+
+        jdbcTemplate.update(DELETE_RANGE_SQL, fromDay, toDay);
+        upsert(totals);
+        return totals.size();
+    }
+
+    /**
+     * Lee los acumulados de un producto, o del total, dentro de un rango de fechas.
+     *
+     * @param granularity La granularidad de los acumulados.
+     * @param productId   El identificador del producto, o {@code null} para el total.
+     * @param from        Inicio del rango (inclusive).
+     * @param to          Fin del rango (exclusive).
+     * @return La lista de acumulados ordenada por período.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<SalesRollupDto> findSales(RollupGranularity granularity, Long productId, LocalDateTime from, LocalDateTime to) {
+        var rollupProductId = productId == null ? SalesRollup.ALL_PRODUCTS : productId;
+        return salesRollupRepo.findRange(granularity, rollupProductId, from, to).stream()
+                .map(rollup -> new SalesRollupDto(rollup.getBucketStart(), rollup.getRevenue(), rollup.getQuantity(), rollup.getOrderCount()))
+                .toList();
+    }
+
+    /**
+     * Suma los valores de un pedido a los acumulados totales de su hora y de su día.
+     *
+     * @param totals     Los acumulados en construcción.
+     * @param date       La fecha del pedido.
+     * @param totalPrice El precio total del pedido.
+     */
+    private void addOrder(Map<BucketKey, Totals> totals, LocalDateTime date, BigDecimal totalPrice) {
+        for (var granularity : RollupGranularity.values()) {
+            var orderTotals = totals.computeIfAbsent(new BucketKey(granularity, granularity.bucketOf(date), SalesRollup.ALL_PRODUCTS), key -> new Totals());
+            orderTotals.revenue = orderTotals.revenue.add(totalPrice);
+            orderTotals.orderCount++;
+        }
+    }
+
+    /**
+     * Suma un detalle de pedido a los acumulados de su producto y a las unidades totales de su hora y de su día.
+     * Se asume que un pedido tiene un solo detalle por producto.
+     *
+     * @param totals    Los acumulados en construcción.
+     * @param date      La fecha del pedido.
+     * @param productId El identificador del producto.
+     * @param quantity  La cantidad comprada.
+     * @param subTotal  El subtotal del detalle.
+     */
+    private void addLine(Map<BucketKey, Totals> totals, LocalDateTime date, long productId, int quantity, BigDecimal subTotal) {
+        for (var granularity : RollupGranularity.values()) {
+            var bucketStart = granularity.bucketOf(date);
+            totals.computeIfAbsent(new BucketKey(granularity, bucketStart, SalesRollup.ALL_PRODUCTS), key -> new Totals()).quantity += quantity;
+
+            var productTotals = totals.computeIfAbsent(new BucketKey(granularity, bucketStart, productId), key -> new Totals());
+            productTotals.revenue = productTotals.revenue.add(subTotal);
+            productTotals.quantity += quantity;
+            productTotals.orderCount++;
+        }
+    }
+
+    /**
+     * Escribe los acumulados en lote, sumándolos a los existentes.
+     *
+     * @param totals Los acumulados a escribir, ordenados por clave.
+     */
+    private void upsert(Map<BucketKey, Totals> totals) {
+        var rows = new ArrayList<Object[]>(totals.size());
+        totals.forEach((key, value) -> rows.add(new Object[]{
+                key.granularity().name(), Timestamp.valueOf(key.bucketStart()), key.productId(),
+                value.revenue, value.quantity, value.orderCount
+        }));
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    /**
+     * Clave de un acumulado: granularidad, inicio del período y producto.
+     */
+    private record BucketKey(RollupGranularity granularity, LocalDateTime bucketStart, long productId) {
+    }
+
+    /**
+     * Valores acumulados de una clave.
+     */
+    private static final class Totals {
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long quantity;
+        private long orderCount;
+    }
+}
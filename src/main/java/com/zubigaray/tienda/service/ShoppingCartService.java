@@ -0,0 +1,38 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.CartItemDto;
+
+import java.util.List;
+
+/**
+ * Servicio de carrito de compras que proporciona las operaciones para consultar y editar el carrito de un usuario.
+ */
+public interface ShoppingCartService {
+
+    /**
+     * Lista los productos del carrito de un usuario.
+     *
+     * @param userName El nombre de usuario.
+     * @return La lista de productos del carrito.
+     */
+    List<CartItemDto> getCart(String userName);
+
+    /**
+     * Agrega un producto al carrito o reemplaza su cantidad si ya estaba.
+     *
+     * @param userName  El nombre de usuario.
+     * @param productId El identificador del producto.
+     * @param quantity  La cantidad deseada.
+     * @return La lista de productos del carrito actualizada.
+     */
+    List<CartItemDto> setItem(String userName, Long productId, int quantity);
+
+    /**
+     * Quita un producto del carrito.
+     *
+     * @param userName  El nombre de usuario.
+     * @param productId El identificador del producto.
+     * @return La lista de productos del carrito actualizada.
+     */
+    List<CartItemDto> removeItem(String userName, Long productId);
+}
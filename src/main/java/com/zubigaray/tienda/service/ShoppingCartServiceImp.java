@@ -0,0 +1,102 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.CartItemDto;
+import com.zubigaray.tienda.model.ShoppingCart;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.ProductRepo;
+import com.zubigaray.tienda.repo.ShoppingCartRepo;
+import com.zubigaray.tienda.repo.UserRepo;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Implementación del servicio de carrito de compras ({@link ShoppingCartService}).
+ */
+@Service
+@RequiredArgsConstructor
+public class ShoppingCartServiceImp implements ShoppingCartService {
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private ShoppingCartRepo shoppingCartRepo;
+
+    /**
+     * Lista los productos del carrito de un usuario.
+     *
+     * @param userName El nombre de usuario.
+     * @return La lista de productos del carrito.
+     * @throws RuntimeException Si el usuario no existe.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<CartItemDto> getCart(String userName) {
+        return toDtos(findUser(userName));
+    }
+
+    /**
+     * Agrega un producto al carrito o reemplaza su cantidad si ya estaba.
+     *
+     * @param userName  El nombre de usuario.
+     * @param productId El identificador del producto.
+     * @param quantity  La cantidad deseada.
+     * @return La lista de productos del carrito actualizada.
+     * @throws RuntimeException Si la cantidad no es positiva o el usuario o el producto no existen.
+     */
+    @Override
+    @Transactional
+    public List<CartItemDto> setItem(String userName, Long productId, int quantity) {
+        if (quantity <= 0) {
+            throw new RuntimeException("Invalid Quantity");
+        }
+        var user = findUser(userName);
+        var product = productRepo.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+
+        var cartItem = shoppingCartRepo.findByUserAndProduct(user, product)
+                .orElseGet(() -> new ShoppingCart(null, user, product, 0));
+        cartItem.setQuantity(quantity);
+        shoppingCartRepo.save(cartItem);
+
+        return toDtos(user);
+    }
+
+    /**
+     * Quita un producto del carrito. Si el producto no estaba en el carrito, no hace nada.
+     *
+     * @param userName  El nombre de usuario.
+     * @param productId El identificador del producto.
+     * @return La lista de productos del carrito actualizada.
+     * @throws RuntimeException Si el usuario o el producto no existen.
+     */
+    @Override
+    @Transactional
+    public List<CartItemDto> removeItem(String userName, Long productId) {
+        var user = findUser(userName);
+        var product = productRepo.findById(productId)
+                .orElseThrow(() -> new RuntimeException("Product not found"));
+
+        shoppingCartRepo.findByUserAndProduct(user, product).ifPresent(shoppingCartRepo::delete);
+
+        return toDtos(user);
+    }
+
+    private User findUser(String userName) {
+        return userRepo.findByUserName(userName)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+    }
+
+    private List<CartItemDto> toDtos(User user) {
+        return shoppingCartRepo.findByUserOrderByIdAsc(user).stream()
+                .map(item -> new CartItemDto(item.getProduct().getId(), item.getProduct().getName(), item.getProduct().getPrice(), item.getQuantity()))
+                .toList();
+    }
+}
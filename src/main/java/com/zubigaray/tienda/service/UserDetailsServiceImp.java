@@ -1,18 +1,26 @@
 package com.zubigaray.tienda.service;
 
+import com.zubigaray.tienda.config.datasource.ReadYourWritesTracker;
 import com.zubigaray.tienda.repo.UserRepo;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Set;
 
 /**
  * Implementación personalizada de {@link UserDetailsService} para cargar los detalles de un usuario
  * desde la base de datos utilizando el repositorio de usuarios ({@link UserRepo}).
  * Esta clase es utilizada por Spring Security para autenticar y autorizar usuarios.
+ * Los usuarios listados en {@code tienda.security.admin-users} reciben además el rol {@code ADMIN}, que habilita las
+ * operaciones de mantenimiento.
  */
 @Component
 @RequiredArgsConstructor
@@ -21,15 +29,25 @@ public class UserDetailsServiceImp implements UserDetailsService {
     @Autowired
     private UserRepo userRepo;
 
+    @Autowired
+    private ObjectProvider<ReadYourWritesTracker> readYourWritesTracker;
+
+    @Value("${tienda.security.admin-users:}")
+    private Set<String> adminUsers;
+
     /**
-     * Carga los detalles de un usuario por su nombre de usuario.
+     * Carga los detalles de un usuario por su nombre de usuario. Es una lectura de solo lectura, por lo que se resuelve en
+     * una réplica cuando el enrutamiento de lecturas está activo, salvo que el usuario se haya registrado hace poco: se
+     * ejecuta antes de que haya un usuario autenticado, por lo que la transacción se asocia explícitamente al usuario.
      *
      * @param username El nombre de usuario del usuario que se desea cargar.
      * @return Un objeto {@link UserDetails} que contiene la información del usuario.
      * @throws UsernameNotFoundException Si no se encuentra un usuario con el nombre de usuario proporcionado.
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        readYourWritesTracker.ifAvailable(tracker -> tracker.bindUserName(username));
         var user = userRepo.findByUserName(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not Found"));
 
@@ -37,6 +55,7 @@ public class UserDetailsServiceImp implements UserDetailsService {
                 .builder()
                 .username(user.getUserName())
                 .password(user.getPassword())
+                .roles(adminUsers.contains(user.getUserName()) ? new String[]{"ADMIN"} : new String[0])
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,182 @@
+package com.zubigaray.tienda.utils;
+
+import com.zubigaray.tienda.dto.ProductDto;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+
+/**
+ * Utilidades para escribir y leer la instantánea binaria del catálogo (id, nombre, precio y stock de cada producto).
+ * Ambas operaciones trabajan sobre el archivo mapeado en memoria, sin copias intermedias por producto.
+ * <p>
+ * Formato (versión 1, enteros big-endian):
+ * <pre>
+ * encabezado: magic "TCAT" (int) | versión (short) | reservado (short) | watermark en microsegundos (long)
+ *             | cantidad de productos (int) | largo del cuerpo (int) | CRC32 del cuerpo (int)
+ * cuerpo, por producto: id (long) | precio sin escala (long) | escala (byte) | stock (int)
+ *                       | largo del nombre en UTF-8 (short) | nombre
+ * </pre>
+ * Un archivo con otro magic, otra versión o un CRC que no coincide se descarta.
+ */
+public class CatalogSnapshotFile {
+
+    private static final int MAGIC = 0x54434154; // "TCAT"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 2 + 2 + 8 + 4 + 4 + 4;
+    private static final int FIXED_ENTRY_SIZE = 8 + 8 + 1 + 4 + 2;
+    private static final long NO_WATERMARK = Long.MIN_VALUE;
+
+    /**
+     * Constructor privado para evitar la instanciación de la clase.
+     * Todos los métodos son estáticos.
+     */
+    private CatalogSnapshotFile() {
+    }
+
+    /**
+     * Contenido de una instantánea.
+     *
+     * @param watermark Mayor marca de cambio de los productos incluidos, o {@code null} si el catálogo estaba vacío.
+     * @param products  Los productos, ordenados por identificador.
+     */
+    public record Snapshot(
+            LocalDateTime watermark,
+            List<ProductDto> products
+    ) {
+    }
+
+    /**
+     * Escribe la instantánea en un archivo temporal junto al destino y lo renombra de forma atómica, de modo que un
+     * lector nunca ve un archivo a medio escribir.
+     *
+     * @param file     Ruta del archivo de destino.
+     * @param snapshot Contenido a escribir.
+     * @throws IOException Si no se puede escribir el archivo.
+     */
+    public static void write(Path file, Snapshot snapshot) throws IOException {
+        var names = new ArrayList<byte[]>(snapshot.products().size());
+        long bodySize = 0;
+        for (var product : snapshot.products()) {
+            var name = product.name().getBytes(StandardCharsets.UTF_8);
+            if (name.length > Short.MAX_VALUE) {
+                throw new IOException("Product name too long for the snapshot: " + product.id());
+            }
+            names.add(name);
+            bodySize += FIXED_ENTRY_SIZE + name.length;
+        }
+        if (HEADER_SIZE + bodySize > Integer.MAX_VALUE) {
+            throw new IOException("Catalog too large for a single snapshot file");
+        }
+
+        var absolute = file.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        var temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            try (var channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + bodySize);
+                buffer.position(HEADER_SIZE);
+                for (int i = 0; i < snapshot.products().size(); i++) {
+                    var product = snapshot.products().get(i);
+                    var price = product.price();
+                    buffer.putLong(product.id());
+                    buffer.putLong(price.unscaledValue().longValueExact());
+                    buffer.put((byte) price.scale());
+                    buffer.putInt(product.stock());
+                    buffer.putShort((short) names.get(i).length);
+                    buffer.put(names.get(i));
+                }
+
+                var crc = new CRC32();
+                crc.update(buffer.slice(HEADER_SIZE, (int) bodySize));
+                buffer.position(0);
+                buffer.putInt(MAGIC);
+                buffer.putShort(VERSION);
+                buffer.putShort((short) 0);
+                buffer.putLong(snapshot.watermark() != null ? toMicros(snapshot.watermark()) : NO_WATERMARK);
+                buffer.putInt(snapshot.products().size());
+                buffer.putInt((int) bodySize);
+                buffer.putInt((int) crc.getValue());
+                buffer.force();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Lee una instantánea mapeando el archivo en memoria.
+     *
+     * @param file Ruta del archivo.
+     * @return La instantánea, o vacío si el archivo no existe o no es una instantánea válida de esta versión.
+     * @throws IOException Si el archivo existe pero no se puede leer.
+     */
+    public static Optional<Snapshot> read(Path file) throws IOException {
+        if (!Files.isRegularFile(file)) {
+            return Optional.empty();
+        }
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getShort() != VERSION) {
+                return Optional.empty();
+            }
+            buffer.getShort();
+            var watermark = buffer.getLong();
+            var count = buffer.getInt();
+            var bodySize = buffer.getInt();
+            var expectedCrc = buffer.getInt();
+            if (count < 0 || bodySize < 0 || HEADER_SIZE + (long) bodySize != channel.size()) {
+                return Optional.empty();
+            }
+            var crc = new CRC32();
+            crc.update(buffer.slice(HEADER_SIZE, bodySize));
+            if ((int) crc.getValue() != expectedCrc) {
+                return Optional.empty();
+            }
+
+            var products = new ArrayList<ProductDto>(count);
+            for (int i = 0; i < count; i++) {
+                products.add(readProduct(buffer));
+            }
+            return Optional.of(new Snapshot(watermark != NO_WATERMARK ? fromMicros(watermark) : null, products));
+        }
+    }
+
+    private static ProductDto readProduct(ByteBuffer buffer) {
+        var id = buffer.getLong();
+        var unscaledPrice = buffer.getLong();
+        var scale = buffer.get();
+        var stock = buffer.getInt();
+        var name = new byte[buffer.getShort()];
+        buffer.get(name);
+        return new ProductDto(id, new String(name, StandardCharsets.UTF_8),
+                new BigDecimal(BigInteger.valueOf(unscaledPrice), scale), stock);
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        var instant = dateTime.toInstant(ZoneOffset.UTC);
+        return instant.getEpochSecond() * 1_000_000 + instant.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000,
+                ZoneOffset.UTC);
+    }
+}
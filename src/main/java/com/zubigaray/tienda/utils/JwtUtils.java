@@ -1,7 +1,9 @@
 package com.zubigaray.tienda.utils;
 
+import com.zubigaray.tienda.dto.TokenIntrospectionDto;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.*;
@@ -22,6 +24,8 @@ public class JwtUtils {
 
     private static final SecretKey secretKey = Jwts.SIG.HS256.key().build(); // Clave secreta para firmar y verificar tokens
     private static final String ISSUER = "server"; // Emisor del token
+    private static final JwtParser jwtParser = Jwts.parser().verifyWith(secretKey).build(); // El parser es inmutable y seguro entre hilos
+    private static final int MAX_TOKEN_LENGTH = 4096; // Largo máximo aceptado antes de intentar verificar un token
     private static final Logger log = LoggerFactory.getLogger(JwtUtils.class); // Lo tuve que poner manualmente porque no esta funcionando correctamente lombok en IntelliJ, lanza errores del tipo "java: cannot find symbol"
 
     /**
@@ -48,8 +52,6 @@ public class JwtUtils {
      * @return Un Optional que contiene los claims del token si es válido; de lo contrario, un Optional vacío.
      */
     public static Optional<Claims> parseToken(String jwtToken) {
-        var jwtParser = Jwts.parser().verifyWith(secretKey).build();
-
         try {
             return Optional.of(jwtParser.parseSignedClaims(jwtToken).getPayload());
         } catch (JwtException | IllegalArgumentException e) {
@@ -59,6 +61,43 @@ public class JwtUtils {
         return Optional.empty();
     }
 
+    /**
+     * Verifica un token JWT y devuelve su estado sin lanzar excepciones ni registrar errores, para poder verificar
+     * muchos tokens por solicitud. Los valores que no tienen la forma de un JWT firmado (tres partes separadas por
+     * puntos) se descartan sin llegar al parser.
+     *
+     * @param jwtToken El token JWT a verificar.
+     * @return El resultado de la verificación; {@link TokenIntrospectionDto#INACTIVE} si el token es inválido o venció.
+     */
+    public static TokenIntrospectionDto introspect(String jwtToken) {
+        if (!hasJwsShape(jwtToken)) {
+            return TokenIntrospectionDto.INACTIVE;
+        }
+        try {
+            var claims = jwtParser.parseSignedClaims(jwtToken).getPayload();
+            var expiration = claims.getExpiration();
+            return new TokenIntrospectionDto(true, claims.getSubject(), expiration != null ? expiration.toInstant() : null, claims.getId());
+        } catch (JwtException | IllegalArgumentException e) {
+            return TokenIntrospectionDto.INACTIVE;
+        }
+    }
+
+    /**
+     * Comprueba de forma barata que el valor pueda ser un JWT firmado: no vacío, de largo acotado y con exactamente dos puntos.
+     *
+     * @param jwtToken El valor a comprobar.
+     * @return true si vale la pena verificar la firma; false en caso contrario.
+     */
+    private static boolean hasJwsShape(String jwtToken) {
+        if (jwtToken == null || jwtToken.isEmpty() || jwtToken.length() > MAX_TOKEN_LENGTH) {
+            return false;
+        }
+        var firstDot = jwtToken.indexOf('.');
+        var lastDot = jwtToken.lastIndexOf('.');
+        return firstDot > 0 && lastDot > firstDot + 1 && lastDot < jwtToken.length() - 1
+                && jwtToken.indexOf('.', firstDot + 1) == lastDot;
+    }
+
     /**
      * Extrae el nombre de usuario (subject) de un token JWT.
      *
@@ -0,0 +1,68 @@
+-- Esquema inicial (las cinco tablas originales), tal como lo generaba Hibernate con ddl-auto=update antes de Flyway.
+-- Las bases existentes se marcan en esta version (spring.flyway.baseline-on-migrate) sin ejecutar este script, por lo
+-- que cada tabla o indice nuevo va en su propia migracion posterior.
+
+create table `users` (
+    `id` bigint not null auto_increment,
+    `register_date` datetime(6) not null,
+    `mail` varchar(255) not null,
+    `name` varchar(255),
+    `password` varchar(255) not null,
+    `user_name` varchar(255) not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `products` (
+    `price` decimal(10,2) not null,
+    `stock` integer not null,
+    `id` bigint not null auto_increment,
+    `name` varchar(100) not null,
+    `description` tinytext not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `orders` (
+    `total_price` decimal(10,2) not null,
+    `date` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `user_id` bigint not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `order_details` (
+    `quantity` integer not null,
+    `sub_total` decimal(10,2) not null,
+    `id` bigint not null auto_increment,
+    `order_id` bigint not null,
+    `product_id` bigint not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create table `shopping_cart` (
+    `quantity` integer not null,
+    `id` bigint not null auto_increment,
+    `product_id` bigint not null,
+    `user_id` bigint not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+alter table `users`
+    add constraint `UKkb57rl39lkfm8oxkj4ac78yku` unique (`mail`);
+
+alter table `users`
+    add constraint `UKcwrglw63nabma2d51aeppvpoh` unique (`user_name`);
+
+alter table `order_details`
+    add constraint `FKqc6g0owojc0ahn1p4cwob73g7` foreign key (`order_id`) references `orders` (`id`);
+
+alter table `order_details`
+    add constraint `FKi4rt3yypvjppgrey3jj8d7qdw` foreign key (`product_id`) references `products` (`id`);
+
+alter table `orders`
+    add constraint `FKitd0598xtxfyrro0df4ey8kdd` foreign key (`user_id`) references `users` (`id`);
+
+alter table `shopping_cart`
+    add constraint `FKc67p3m97qrij33bhi15uscuqo` foreign key (`product_id`) references `products` (`id`);
+
+alter table `shopping_cart`
+    add constraint `FKhn3a4d4sx531imgn8rimb604r` foreign key (`user_id`) references `users` (`id`);
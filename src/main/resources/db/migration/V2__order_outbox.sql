@@ -0,0 +1,12 @@
+-- Tabla outbox de eventos de pedidos: se escribe en la misma transaccion que el pedido y la publica el relay en lotes.
+create table `order_outbox` (
+    `created_at` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `order_id` bigint not null,
+    `published_at` datetime(6),
+    `event_type` enum ('ORDER_CREATED') not null,
+    `payload` longtext not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create index idx_order_outbox_pending on `order_outbox` (`published_at`, `id`);
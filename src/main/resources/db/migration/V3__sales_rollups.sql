@@ -0,0 +1,14 @@
+-- Acumulados de ventas por hora y por dia, uno por producto (product_id 0 para el total) y periodo.
+create table `sales_rollups` (
+    `revenue` decimal(14,2) not null,
+    `bucket_start` datetime(6) not null,
+    `id` bigint not null auto_increment,
+    `order_count` bigint not null,
+    `product_id` bigint not null,
+    `quantity` bigint not null,
+    `granularity` enum ('DAY','HOUR') not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+alter table `sales_rollups`
+    add constraint uk_sales_rollup_bucket unique (`granularity`, `product_id`, `bucket_start`);
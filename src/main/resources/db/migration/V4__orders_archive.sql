@@ -0,0 +1,15 @@
+-- Pedidos archivados (con sus detalles serializados en line_items) y el indice por fecha con el que el archivador
+-- busca los pedidos antiguos.
+create table `orders_archive` (
+    `total_price` decimal(10,2) not null,
+    `archived_at` datetime(6) not null,
+    `date` datetime(6) not null,
+    `id` bigint not null,
+    `user_id` bigint not null,
+    `line_items` longtext not null,
+    primary key (`id`)
+) engine=InnoDB;
+
+create index idx_orders_archive_user_date on `orders_archive` (`user_id`, `date`);
+
+create index idx_orders_date on `orders` (`date`);
@@ -0,0 +1,3 @@
+-- Un @Lob de String sin longitud se mapeaba a tinytext (255 bytes) en MySQL: las descripciones largas de los
+-- productos no entraban en la columna.
+alter table `products` modify `description` text not null;
@@ -0,0 +1,5 @@
+-- Marca de cambio de cada producto: la base la actualiza en cada escritura, incluidas las hechas por SQL nativo.
+-- El catalogo en memoria la usa como watermark para leer solo los productos modificados desde su ultima lectura.
+alter table `products` add column `updated_at` datetime(6) not null default current_timestamp(6) on update current_timestamp(6);
+
+create index `idx_products_updated_at` on `products` (`updated_at`);
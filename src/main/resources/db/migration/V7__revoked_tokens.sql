@@ -0,0 +1,9 @@
+-- Tokens revocados al cerrar sesion, compartidos entre las instancias. Cada instancia los recarga periodicamente en su
+-- filtro de Bloom y borra los vencidos.
+create table `revoked_tokens` (
+    `jti` varchar(64) not null,
+    `expires_at` datetime(6) not null,
+    primary key (`jti`)
+) engine=InnoDB;
+
+create index idx_revoked_tokens_expires_at on `revoked_tokens` (`expires_at`);
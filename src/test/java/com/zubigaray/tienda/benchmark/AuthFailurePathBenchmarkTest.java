@@ -0,0 +1,189 @@
+package com.zubigaray.tienda.benchmark;
+
+import com.zubigaray.tienda.controller.AuthController;
+import com.zubigaray.tienda.dto.AuthRequestDto;
+import com.zubigaray.tienda.dto.AuthResponseDto;
+import com.zubigaray.tienda.enums.AuthStatus;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.UserRepo;
+import com.zubigaray.tienda.service.AuthServiceImp;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara el rendimiento de los inicios de sesión fallidos antes y después de devolver resultados tipados desde
+ * {@code AuthService}: el camino anterior autenticaba con el {@link AuthenticationManager}, que informa los fallos con
+ * excepciones, y el controlador elegía el mensaje buscando texto en {@code getMessage()}; el actual compara la
+ * contraseña directamente y devuelve respuestas preconstruidas.
+ * <p>
+ * Por defecto se usa un codificador de contraseñas trivial, para medir solo el costo del control de flujo; con
+ * {@code -Dbenchmark.authEncoder=bcrypt} se mide con BCrypt, cuyo costo domina ambos caminos.
+ * Se ejecuta con {@code mvn test -Pbenchmark -Dtest=AuthFailurePathBenchmarkTest}. Parámetros (propiedades del
+ * sistema): {@code benchmark.authEncoder}, {@code benchmark.threads} y {@code benchmark.durationMs}.
+ */
+@Tag("benchmark")
+class AuthFailurePathBenchmarkTest {
+
+    private static final String ENCODER = System.getProperty("benchmark.authEncoder", "plain");
+    private static final int THREADS = Integer.getInteger("benchmark.threads", Runtime.getRuntime().availableProcessors());
+    private static final Duration DURATION = Duration.ofMillis(Long.getLong("benchmark.durationMs", 3_000));
+
+    private final PasswordEncoder passwordEncoder = "bcrypt".equals(ENCODER) ? new BCryptPasswordEncoder(4) : new PlainPasswordEncoder();
+    private final Map<String, User> users = Map.of("alice", user("alice", "correct-password"));
+
+    @Test
+    void compareFailurePaths() throws Exception {
+        var legacyAuthenticationManager = legacyAuthenticationManager();
+        var controller = controller();
+
+        var badPassword = new AuthRequestDto(null, "alice", "wrong-password", null);
+        var unknownUser = new AuthRequestDto(null, "mallory", "wrong-password", null);
+
+        System.out.printf("%nAuth failure path benchmark (encoder=%s, threads=%d, duration=%d ms)%n", ENCODER, THREADS, DURATION.toMillis());
+        System.out.printf("%-14s %16s %16s %10s%n", "scenario", "before ops/s", "after ops/s", "speedup");
+        for (var scenario : Map.of("bad password", badPassword, "unknown user", unknownUser).entrySet()) {
+            var request = scenario.getValue();
+            var before = legacyLogin(legacyAuthenticationManager, request);
+            var after = controller.login(request);
+            assertThat(before.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+            assertThat(after.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+            assertThat(after.getBody()).extracting(AuthResponseDto::authStatus).isEqualTo(AuthStatus.LOGIN_FAILED);
+
+            var beforeOps = throughput(() -> legacyLogin(legacyAuthenticationManager, request));
+            var afterOps = throughput(() -> controller.login(request));
+            System.out.printf("%-14s %16.0f %16.0f %9.2fx%n", scenario.getKey(), beforeOps, afterOps, afterOps / beforeOps);
+        }
+    }
+
+    /**
+     * Reproduce el inicio de sesión anterior: autenticación con excepciones y búsqueda de texto en el mensaje.
+     */
+    private static ResponseEntity<AuthResponseDto> legacyLogin(AuthenticationManager authenticationManager, AuthRequestDto authRequestDto) {
+        try {
+            var authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(authRequestDto.userName(), authRequestDto.password()));
+            var authResponseDto = new AuthResponseDto(((UserDetails) authentication.getPrincipal()).getUsername(),
+                    AuthStatus.LOGIN_SUCCESS, "Login successful");
+            return ResponseEntity.status(HttpStatus.OK).body(authResponseDto);
+        } catch (Exception e) {
+            String errorMessage = e.getMessage();
+            if (e.getMessage().contains("Bad credentials")) {
+                errorMessage = "The username or password is incorrect";
+            } else if (e.getMessage().contains("User not found")) {
+                errorMessage = "User not found";
+            }
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new AuthResponseDto(null, AuthStatus.LOGIN_FAILED, errorMessage));
+        }
+    }
+
+    private AuthenticationManager legacyAuthenticationManager() {
+        var provider = new DaoAuthenticationProvider(passwordEncoder);
+        provider.setUserDetailsService(userName -> {
+            var user = users.get(userName);
+            if (user == null) {
+                throw new UsernameNotFoundException("User not Found");
+            }
+            return org.springframework.security.core.userdetails.User.builder()
+                    .username(user.getUserName())
+                    .password(user.getPassword())
+                    .build();
+        });
+        return new ProviderManager(provider);
+    }
+
+    private AuthController controller() {
+        var userRepo = (UserRepo) Proxy.newProxyInstance(UserRepo.class.getClassLoader(), new Class<?>[]{UserRepo.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findByUserName")) {
+                        return Optional.ofNullable(users.get((String) args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        var authService = new AuthServiceImp();
+        ReflectionTestUtils.setField(authService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(authService, "userRepo", userRepo);
+
+        var controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "authService", authService);
+        return controller;
+    }
+
+    private static double throughput(Supplier<?> operation) throws Exception {
+        // Calentamiento para que ambos caminos estén compilados por el JIT antes de medir
+        var warmupEnd = System.nanoTime() + DURATION.toNanos() / 3;
+        while (System.nanoTime() < warmupEnd) {
+            operation.get();
+        }
+
+        var operations = new LongAdder();
+        var executor = Executors.newFixedThreadPool(THREADS);
+        var start = System.nanoTime();
+        var end = start + DURATION.toNanos();
+        var tasks = new ArrayList<Future<?>>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(executor.submit(() -> {
+                while (System.nanoTime() < end) {
+                    operation.get();
+                    operations.increment();
+                }
+            }));
+        }
+        for (var task : tasks) {
+            task.get();
+        }
+        var elapsedSeconds = (System.nanoTime() - start) / 1e9;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.SECONDS);
+        return operations.sum() / elapsedSeconds;
+    }
+
+    private User user(String userName, String password) {
+        var user = new User();
+        user.setUserName(userName);
+        user.setPassword(passwordEncoder.encode(password));
+        return user;
+    }
+
+    /**
+     * Codificador sin hash, para que el costo medido sea el del control de flujo y no el de la función de hash.
+     */
+    private static final class PlainPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return MessageDigest.isEqual(rawPassword.toString().getBytes(StandardCharsets.UTF_8),
+                    encodedPassword.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
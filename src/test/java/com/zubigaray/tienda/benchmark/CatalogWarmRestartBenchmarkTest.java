@@ -0,0 +1,119 @@
+package com.zubigaray.tienda.benchmark;
+
+import com.zubigaray.tienda.service.ProductCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Simula un despliegue en el que varios nodos reinician a la vez y compara el arranque en frío (cada nodo carga el
+ * catálogo completo de la base) con el arranque desde la instantánea del catálogo (cada nodo mapea el archivo y solo
+ * lee de la base los productos modificados desde el watermark). Informa el tiempo hasta tener el catálogo disponible y
+ * las filas leídas de la base por todos los nodos, usando H2 con las mismas migraciones que producción.
+ * <p>
+ * Se ejecuta con {@code mvn test -Pbenchmark -Dtest=CatalogWarmRestartBenchmarkTest}. Parámetros (propiedades del
+ * sistema): {@code benchmark.catalogProducts}, {@code benchmark.catalogNodes} y {@code benchmark.catalogChangedPercent}
+ * (productos modificados entre la última instantánea y el reinicio).
+ */
+@Tag("benchmark")
+class CatalogWarmRestartBenchmarkTest {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.catalogProducts", 100_000);
+    private static final int NODES = Integer.getInteger("benchmark.catalogNodes", 4);
+    private static final int CHANGED_PERCENT = Integer.getInteger("benchmark.catalogChangedPercent", 1);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void compareColdAndWarmRollout() throws Exception {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:catalog-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).cleanDisabled(false).load().clean();
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        var jdbcTemplate = new JdbcTemplate(dataSource);
+        seed(jdbcTemplate);
+
+        // Estado previo al despliegue: los nodos escribieron su instantánea antes de detenerse
+        var snapshots = new ArrayList<Path>();
+        for (int node = 0; node < NODES; node++) {
+            var snapshot = directory.resolve("node-" + node + ".snapshot");
+            var catalog = catalog(jdbcTemplate, snapshot, new SimpleMeterRegistry());
+            catalog.reconcile();
+            catalog.onShutdown();
+            snapshots.add(snapshot);
+        }
+        var changed = PRODUCTS * CHANGED_PERCENT / 100;
+        jdbcTemplate.update("UPDATE products SET stock = stock + 1 WHERE MOD(id, ?) = 0", Math.max(1, PRODUCTS / Math.max(1, changed)));
+
+        var cold = rollout(jdbcTemplate, node -> directory.resolve("missing-" + node + ".snapshot"));
+        var warm = rollout(jdbcTemplate, snapshots::get);
+
+        System.out.printf("%nCatalog rollout benchmark (products=%d, nodes=%d, changed=%d%%, snapshot=%d KB)%n",
+                PRODUCTS, NODES, CHANGED_PERCENT, Files.size(snapshots.get(0)) / 1024);
+        System.out.printf("%-6s %22s %22s %20s%n", "start", "time to warm ms (avg)", "time to warm ms (max)", "db rows read (all)");
+        System.out.printf("%-6s %22.1f %22.1f %20d%n", "cold", cold.averageMillis(), cold.maxMillis(), cold.rows());
+        System.out.printf("%-6s %22.1f %22.1f %20d%n", "warm", warm.averageMillis(), warm.maxMillis(), warm.rows());
+
+        assertThat(warm.rows()).isLessThan(cold.rows());
+    }
+
+    private Rollout rollout(JdbcTemplate jdbcTemplate, IntFunction<Path> snapshotOfNode) {
+        double totalMillis = 0;
+        double maxMillis = 0;
+        long rows = 0;
+        for (int node = 0; node < NODES; node++) {
+            var meterRegistry = new SimpleMeterRegistry();
+            var catalog = catalog(jdbcTemplate, snapshotOfNode.apply(node), meterRegistry);
+
+            var start = System.nanoTime();
+            catalog.loadSnapshot();
+            if (!catalog.isReady()) {
+                catalog.reconcile();
+            }
+            var millis = (System.nanoTime() - start) / 1e6;
+            assertThat(catalog.findPage(PageRequest.of(0, 20))).isPresent();
+
+            // La reconciliación en segundo plano también cuenta como carga sobre la base durante el despliegue
+            catalog.reconcile();
+            assertThat(catalog.findPage(PageRequest.of(0, 1)).orElseThrow().getTotalElements()).isEqualTo(PRODUCTS);
+
+            totalMillis += millis;
+            maxMillis = Math.max(maxMillis, millis);
+            rows += (long) meterRegistry.get("tienda.catalog.reconcile.rows").counter().count();
+        }
+        return new Rollout(totalMillis / NODES, maxMillis, rows);
+    }
+
+    private static ProductCatalog catalog(JdbcTemplate jdbcTemplate, Path snapshot, SimpleMeterRegistry meterRegistry) {
+        return new ProductCatalog(jdbcTemplate, meterRegistry, true, snapshot.toString(), 5_000);
+    }
+
+    private static void seed(JdbcTemplate jdbcTemplate) {
+        var updatedAt = LocalDateTime.now().minusSeconds(PRODUCTS + 3_600L);
+        var rows = new ArrayList<Object[]>(PRODUCTS);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            rows.add(new Object[]{"Producto " + i, BigDecimal.valueOf(i * 137L % 100_000, 2), i % 500,
+                    Timestamp.valueOf(updatedAt.plusSeconds(i))});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (name, description, price, stock, updated_at) VALUES (?, '', ?, ?, ?)", rows);
+    }
+
+    private record Rollout(double averageMillis, double maxMillis, long rows) {
+    }
+}
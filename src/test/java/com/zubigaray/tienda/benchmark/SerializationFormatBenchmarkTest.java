@@ -0,0 +1,130 @@
+package com.zubigaray.tienda.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zubigaray.tienda.dto.AuthResponseDto;
+import com.zubigaray.tienda.dto.OrderHistoryDto;
+import com.zubigaray.tienda.dto.OrderLineDto;
+import com.zubigaray.tienda.dto.ProductDto;
+import com.zubigaray.tienda.enums.AuthStatus;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara JSON, CBOR y Smile con los DTOs de las respuestas más voluminosas de la API: tamaño del cuerpo, tamaño con
+ * gzip y tiempo de CPU para serializar y deserializar.
+ * <p>
+ * Se ejecuta con {@code mvn test -Pbenchmark -Dtest=SerializationFormatBenchmarkTest}. Parámetros (propiedades del
+ * sistema): {@code benchmark.products}, {@code benchmark.orders} y {@code benchmark.iterations}.
+ */
+@Tag("benchmark")
+class SerializationFormatBenchmarkTest {
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 1_000);
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 200);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 2_000);
+
+    private final Map<String, ObjectMapper> mappers = Map.of(
+            "json", Jackson2ObjectMapperBuilder.json().build(),
+            "cbor", Jackson2ObjectMapperBuilder.cbor().build(),
+            "smile", Jackson2ObjectMapperBuilder.smile().build());
+
+    @Test
+    void compareFormats() throws IOException {
+        var catalog = catalogPage();
+        var history = orderHistory();
+        var auth = new AuthResponseDto("eyJhbGciOiJIUzI1NiJ9." + "x".repeat(160) + ".signature", AuthStatus.LOGIN_SUCCESS,
+                "Login Successful");
+
+        System.out.printf("%nSerialization benchmark (products=%d, orders=%d, iterations=%d)%n", PRODUCTS, ORDERS, ITERATIONS);
+        System.out.printf("%-14s %-6s %10s %10s %14s %14s%n", "payload", "format", "bytes", "gzip", "write us/op", "read us/op");
+
+        var catalogSizes = compare("catalog", catalog, ProductDto.class);
+        var historySizes = compare("history", history, OrderHistoryDto.class);
+        compare("auth", List.of(auth), AuthResponseDto.class);
+
+        assertThat(catalogSizes.get("smile")).isLessThan(catalogSizes.get("json"));
+        assertThat(catalogSizes.get("cbor")).isLessThan(catalogSizes.get("json"));
+        assertThat(historySizes.get("smile")).isLessThan(historySizes.get("json"));
+    }
+
+    private <T> Map<String, Integer> compare(String payload, List<T> value, Class<T> elementType) throws IOException {
+        var sizes = new LinkedHashMap<String, Integer>();
+        for (var format : List.of("json", "cbor", "smile")) {
+            var mapper = mappers.get(format);
+            var type = mapper.getTypeFactory().constructCollectionType(List.class, elementType);
+            var bytes = mapper.writeValueAsBytes(value);
+            assertThat(mapper.<List<T>>readValue(bytes, type)).isEqualTo(value);
+
+            for (int i = 0; i < ITERATIONS / 10; i++) {
+                mapper.writeValueAsBytes(value);
+                mapper.readValue(bytes, type);
+            }
+            var writeMicros = timeWrites(mapper, value);
+            var readMicros = timeReads(mapper, bytes, type);
+
+            sizes.put(format, bytes.length);
+            System.out.printf("%-14s %-6s %10d %10d %14.1f %14.1f%n", payload, format, bytes.length, gzip(bytes).length,
+                    writeMicros, readMicros);
+        }
+        return sizes;
+    }
+
+    private static double timeWrites(ObjectMapper mapper, Object value) throws IOException {
+        var start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.writeValueAsBytes(value);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+    }
+
+    private static double timeReads(ObjectMapper mapper, byte[] bytes, JavaType type) throws IOException {
+        var start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            mapper.readValue(bytes, type);
+        }
+        return (System.nanoTime() - start) / 1_000.0 / ITERATIONS;
+    }
+
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        var out = new ByteArrayOutputStream();
+        try (var gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<ProductDto> catalogPage() {
+        var products = new ArrayList<ProductDto>(PRODUCTS);
+        for (long id = 1; id <= PRODUCTS; id++) {
+            products.add(new ProductDto(id, "Producto " + id, BigDecimal.valueOf(id * 137 % 10_000, 2), (int) (id % 50)));
+        }
+        return products;
+    }
+
+    private static List<OrderHistoryDto> orderHistory() {
+        var orders = new ArrayList<OrderHistoryDto>(ORDERS);
+        var date = LocalDateTime.of(2025, 1, 1, 10, 0);
+        for (long id = 1; id <= ORDERS; id++) {
+            var lines = List.of(
+                    new OrderLineDto(id, id % 97, 1, new BigDecimal("12.50")),
+                    new OrderLineDto(id, id % 89, 2, new BigDecimal("7.25")),
+                    new OrderLineDto(id, id % 83, 3, new BigDecimal("3.10")));
+            orders.add(new OrderHistoryDto(id, date.plusHours(id), new BigDecimal("36.30"), id % 5 == 0, lines));
+        }
+        return orders;
+    }
+}
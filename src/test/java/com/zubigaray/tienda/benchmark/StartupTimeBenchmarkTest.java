@@ -0,0 +1,107 @@
+package com.zubigaray.tienda.benchmark;
+
+import com.zubigaray.tienda.TiendaApplication;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mide el tiempo hasta la primera solicitud respondida arrancando la aplicación en una JVM nueva, con el perfil
+ * {@code loadtest} (H2 en memoria, mismas migraciones que en producción). Informa el tiempo medido desde afuera
+ * (inicio del proceso hasta la primera respuesta HTTP) y el que registra la propia aplicación, y deja el resumen en
+ * {@code target/startup-report.txt} para seguir las regresiones de arranque.
+ * <p>
+ * Se ejecuta con {@code mvn test -Pbenchmark -Dtest=StartupTimeBenchmarkTest}. Parámetros (propiedades del sistema):
+ * {@code benchmark.startupRuns} y {@code benchmark.startupJvmArgs}, por ejemplo
+ * {@code -Dbenchmark.startupJvmArgs="-XX:TieredStopAtLevel=1"} para comparar opciones de la JVM.
+ */
+@Tag("benchmark")
+class StartupTimeBenchmarkTest {
+
+    private static final int RUNS = Integer.getInteger("benchmark.startupRuns", 3);
+    private static final String JVM_ARGS = System.getProperty("benchmark.startupJvmArgs", "");
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+    private static final Pattern REPORTED = Pattern.compile("Time to first request: (\\d+) ms \\(started after (-?\\d+) ms\\)");
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+
+    @Test
+    void measureTimeToFirstRequest() throws Exception {
+        var report = new StringBuilder();
+        report.append(String.format("Startup benchmark (runs=%d, jvmArgs=%s)%n", RUNS, JVM_ARGS.isBlank() ? "-" : JVM_ARGS));
+        report.append(String.format("%-5s %18s %18s %14s%n", "run", "first response ms", "reported TTFR ms", "started ms"));
+
+        var measured = new ArrayList<Long>();
+        for (int run = 1; run <= RUNS; run++) {
+            var log = Path.of("target", "startup-run-" + run + ".log");
+            var elapsed = startAndWaitForFirstResponse(log);
+            var matcher = REPORTED.matcher(Files.readString(log));
+            assertThat(matcher.find()).as("time to first request in %s", log).isTrue();
+
+            measured.add(elapsed);
+            report.append(String.format("%-5d %18d %18s %14s%n", run, elapsed, matcher.group(1), matcher.group(2)));
+        }
+        measured.sort(null);
+        report.append(String.format("median first response: %d ms%n", measured.get(measured.size() / 2)));
+
+        System.out.println();
+        System.out.print(report);
+        Files.writeString(Path.of("target", "startup-report.txt"), report);
+    }
+
+    private long startAndWaitForFirstResponse(Path log) throws Exception {
+        var port = freePort();
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (!JVM_ARGS.isBlank()) {
+            command.addAll(Arrays.asList(JVM_ARGS.trim().split("\\s+")));
+        }
+        command.addAll(List.of("-cp", System.getProperty("java.class.path"), TiendaApplication.class.getName(),
+                "--spring.profiles.active=loadtest", "--server.port=" + port,
+                "--loadtest.seed.users=0", "--loadtest.seed.products=0"));
+
+        var start = System.nanoTime();
+        var process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/")).GET().build();
+            var deadline = start + TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                assertThat(process.isAlive()).as("application exited, see %s", log).isTrue();
+                try {
+                    client.send(request, HttpResponse.BodyHandlers.discarding());
+                    var elapsed = (System.nanoTime() - start) / 1_000_000;
+                    // Da tiempo a que la aplicación escriba su propia medición en el log
+                    Thread.sleep(200);
+                    return elapsed;
+                } catch (IOException notListeningYet) {
+                    Thread.sleep(10);
+                }
+            }
+            throw new IllegalStateException("No response within " + TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            process.waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.zubigaray.tienda.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zubigaray.tienda.TiendaApplication;
+import com.zubigaray.tienda.loadtest.LatencyHistogram;
+import com.zubigaray.tienda.loadtest.ScenarioDriver;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compara el modo de hilos de plataforma (pool de Tomcat, 200 hilos por defecto) con el de hilos virtuales sobre la
+ * aplicación real. Para cada modo arranca la aplicación en una JVM nueva con el perfil {@code loadtest} y
+ * {@code TIENDA_VIRTUAL_THREADS=false} o {@code true}, y la recorre con el escenario de {@link ScenarioDriver} (login,
+ * catálogo, carrito y compra), el mismo que {@code ScenarioLoadTest}. Informa el rendimiento y las latencias de cada
+ * escenario en cada modo, y los marcos en los que la JVM encontró un hilo virtual fijado (pinned) a su hilo portador
+ * ({@code -Djdk.tracePinnedThreads=short}); deja el resumen en {@code target/thread-mode-report.txt} y la salida de
+ * cada aplicación en {@code target/thread-mode-*.log}.
+ * <p>
+ * Se ejecuta con {@code mvn test -Pbenchmark -Dtest=ThreadModeBenchmarkTest}. Parámetros (propiedades del sistema):
+ * {@code benchmark.concurrency} (usuarios virtuales; por defecto 400, por encima de los hilos de Tomcat),
+ * {@code benchmark.iterations}, {@code benchmark.warmUpIterations}, {@code benchmark.products} y
+ * {@code benchmark.dbPool}. Los errores de cada escenario se informan en lugar de hacer fallar la prueba: con
+ * concurrencias altas la compra, que bloquea las filas de productos y de {@code sales_rollup}, agota las esperas de
+ * H2 y del pool de conexiones, y esa diferencia entre modos es parte de lo que se mide.
+ * <p>
+ * Revisión de pinning de los caminos de las solicitudes ({@code config/security} y {@code service}), que el conteo
+ * de este benchmark confirma bajo carga:
+ * <ul>
+ *     <li>{@code LowStockSubscriber} usa {@code ReentrantLock} para su búfer, y los envíos SSE corren en hilos
+ *     virtuales en ese modo.</li>
+ *     <li>{@code JWTAuthenticationFilter} y {@code UserDetailsServiceImp} solo se bloquean dentro de Hikari y del
+ *     driver JDBC (Hikari 5.1 y Connector/J 9.1), que usan locks de {@code java.util.concurrent}, no monitores.</li>
+ *     <li>BCrypt usa CPU; solo la sal de {@code encode()} (registro) toma por un instante el monitor de
+ *     {@code SecureRandom}.</li>
+ *     <li>{@code TokenDenylist.revoke} y {@code sweep} acceden a la tabla {@code revoked_tokens} fuera de sus
+ *     bloques {@code synchronized}, que no se bloquean adentro: no fijan el hilo portador mientras esperan.</li>
+ *     <li>No hay otros bloques {@code synchronized} ni marcos nativos en esos caminos. H2 (solo en este perfil)
+ *     sí usa monitores; los marcos que informe dentro de {@code org.h2} no aplican a MySQL.</li>
+ * </ul>
+ */
+@Tag("benchmark")
+class ThreadModeBenchmarkTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+    private static final int WARM_UP_ITERATIONS = Integer.getInteger("benchmark.warmUpIterations", 2);
+    private static final int PRODUCTS = Integer.getInteger("benchmark.products", 500);
+    private static final int DB_POOL = Integer.getInteger("benchmark.dbPool", 20);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareThreadModes() throws Exception {
+        var report = new StringBuilder();
+        report.append(String.format("%nThread mode benchmark (concurrency=%d, iterations=%d, products=%d, dbPool=%d)%n",
+                CONCURRENCY, ITERATIONS, PRODUCTS, DB_POOL));
+        var completed = new LinkedHashMap<String, Map<String, LatencyHistogram>>();
+
+        for (var virtualThreads : new boolean[]{false, true}) {
+            var mode = virtualThreads ? "virtual" : "platform";
+            var log = Path.of("target", "thread-mode-" + mode + ".log");
+            var port = freePort();
+            var process = start(virtualThreads, port, log);
+            try {
+                awaitSeeded(process, port, log);
+                var driver = new ScenarioDriver("http://localhost:" + port, PRODUCTS);
+
+                driver.run(CONCURRENCY, WARM_UP_ITERATIONS);
+                var started = System.nanoTime();
+                var histograms = driver.run(CONCURRENCY, ITERATIONS);
+                var elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+                report.append(String.format("%n%s threads: %.1f req/s overall, elapsed=%.1f s%n",
+                        mode, total(histograms) / elapsedSeconds, elapsedSeconds));
+                report.append(ScenarioDriver.format(histograms, elapsedSeconds));
+                completed.put(mode, histograms);
+            } finally {
+                process.destroy();
+                process.waitFor();
+            }
+
+            var pinnedFrames = pinnedFrames(log);
+            report.append(String.format("pinned frames: %d%n", pinnedFrames.size()));
+            pinnedFrames.forEach(frame -> report.append("  ").append(frame).append(System.lineSeparator()));
+        }
+
+        System.out.println(report);
+        Files.writeString(Path.of("target", "thread-mode-report.txt"), report);
+
+        // Los errores forman parte de la comparación (por ejemplo, esperas del pool de conexiones en un modo y no en
+        // el otro), así que solo se exige que cada escenario haya completado solicitudes en ambos modos.
+        completed.forEach((mode, histograms) -> histograms.forEach((scenario, histogram) ->
+                assertThat(histogram.count() - histogram.errors()).as("%s %s completed requests", mode, scenario).isPositive()));
+    }
+
+    private Process start(boolean virtualThreads, int port, Path log) throws IOException {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(List.of("-Djdk.tracePinnedThreads=short",
+                "-cp", System.getProperty("java.class.path"), TiendaApplication.class.getName(),
+                "--spring.profiles.active=loadtest", "--server.port=" + port,
+                "--spring.datasource.hikari.maximum-pool-size=" + DB_POOL,
+                "--loadtest.seed.users=" + CONCURRENCY, "--loadtest.seed.products=" + PRODUCTS));
+
+        var processBuilder = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile());
+        processBuilder.environment().put("TIENDA_VIRTUAL_THREADS", Boolean.toString(virtualThreads));
+        return processBuilder.start();
+    }
+
+    /**
+     * Espera a que la aplicación responda y a que {@code LoadTestDataSeeder}, que corre después de abrir el puerto,
+     * haya cargado los usuarios y los productos.
+     */
+    private void awaitSeeded(Process process, int port, Path log) throws Exception {
+        var login = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"userName\":\"loaduser" + (CONCURRENCY - 1) + "\",\"password\":\"loadtest-password\"}"))
+                .build();
+        var deadline = System.nanoTime() + STARTUP_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            assertThat(process.isAlive()).as("application exited, see %s", log).isTrue();
+            try {
+                var response = client.send(login, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    var token = objectMapper.readTree(response.body()).get("token").asText();
+                    var page = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products/?size=1"))
+                            .header("Authorization", "Bearer " + token).GET().build(), HttpResponse.BodyHandlers.ofString());
+                    if (page.statusCode() == 200 && objectMapper.readTree(page.body()).get("totalElements").asInt() == PRODUCTS) {
+                        return;
+                    }
+                }
+            } catch (IOException notListeningYet) {
+                // Todavía no abrió el puerto
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("Application not ready within " + STARTUP_TIMEOUT + ", see " + log);
+    }
+
+    /**
+     * Extrae de la salida de {@code -Djdk.tracePinnedThreads=short} los marcos que tenían un monitor tomado cuando un
+     * hilo virtual se bloqueó. La JVM informa cada pila distinta una sola vez.
+     */
+    private static TreeSet<String> pinnedFrames(Path log) throws IOException {
+        var frames = new TreeSet<String>();
+        for (var line : Files.readAllLines(log)) {
+            if (line.contains("<== monitors")) {
+                frames.add(line.trim());
+            }
+        }
+        return frames;
+    }
+
+    private static long total(Map<String, LatencyHistogram> histograms) {
+        return histograms.values().stream().mapToLong(LatencyHistogram::count).sum();
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.zubigaray.tienda.config;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FlywayMigrationTest {
+
+    private static final String COLUMNS_SQL = """
+            select table_name, column_name, data_type, is_nullable from information_schema.columns
+            where table_schema = 'public' and table_name <> 'flyway_schema_history'
+            order by table_name, column_name""";
+    private static final String INDEXES_SQL = """
+            select table_name, index_name from information_schema.indexes
+            where table_schema = 'public' and index_name like 'idx_%'
+            order by table_name, index_name""";
+
+    @Test
+    void preFlywayDatabaseIsMigratedToTheSameSchemaAsAFreshOne() {
+        var fresh = dataSource("fresh");
+        var freshResult = Flyway.configure().dataSource(fresh).load().migrate();
+
+        // Base creada por Hibernate (ddl-auto=update) antes de Flyway: tiene el esquema de V1 pero no el historial
+        var existing = dataSource("existing");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline.sql")).execute(existing);
+        var result = Flyway.configure().dataSource(existing).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        // Todas las migraciones salvo V1
+        assertThat(result.migrationsExecuted).isEqualTo(freshResult.migrationsExecuted - 1);
+        assertThat(schema(existing, COLUMNS_SQL)).isEqualTo(schema(fresh, COLUMNS_SQL));
+        assertThat(schema(existing, INDEXES_SQL))
+                .isEqualTo(schema(fresh, INDEXES_SQL))
+                .extracting(row -> row.get("index_name"))
+                .contains("idx_order_outbox_pending", "idx_orders_date", "idx_orders_archive_user_date", "idx_revoked_tokens_expires_at");
+    }
+
+    private static List<Map<String, Object>> schema(DataSource dataSource, String sql) {
+        return new JdbcTemplate(dataSource).queryForList(sql);
+    }
+
+    private static DataSource dataSource(String name) {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:flyway-" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
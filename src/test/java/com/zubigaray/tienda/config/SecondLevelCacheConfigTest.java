@@ -0,0 +1,108 @@
+package com.zubigaray.tienda.config;
+
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.ProductRepo;
+import com.zubigaray.tienda.repo.UserRepo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {"tienda.cache.enabled=true", "tienda.cache.query-cache=true",
+        "spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheConfigTest {
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void userNameLookupIsServedFromNaturalIdCache() {
+        var userName = "cache-" + UUID.randomUUID();
+        var user = new User();
+        user.setUserName(userName);
+        user.setMail(userName + "@tienda.test");
+        user.setPassword("secret");
+        user.setRegisterDate(LocalDateTime.now());
+        userRepo.save(user);
+        transactionTemplate.executeWithoutResult(status -> userRepo.findByUserName(userName));
+
+        statistics.clear();
+        var found = userRepo.findByUserName(userName);
+
+        assertThat(found).get().extracting(User::getMail).isEqualTo(userName + "@tienda.test");
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void productUpdatesThroughRepositoryRefreshTheCache() {
+        var product = productRepo.save(new Product(null, "Taza", "Taza de ceramica", new BigDecimal("4.50"), 5));
+        productRepo.findById(product.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            var managed = productRepo.findById(product.getId()).orElseThrow();
+            managed.setStock(2);
+        });
+
+        statistics.clear();
+        var found = productRepo.findById(product.getId());
+
+        assertThat(found).get().extracting(Product::getStock).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void catalogPageQueryIsInvalidatedByProductWrites() {
+        productRepo.save(new Product(null, "Plato", "Plato hondo", new BigDecimal("3.00"), 8));
+        var page = PageRequest.of(0, 20);
+        productRepo.findAll(page);
+
+        statistics.clear();
+        productRepo.findAll(page);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+
+        productRepo.save(new Product(null, "Vaso", "Vaso de vidrio", new BigDecimal("2.00"), 12));
+        statistics.clear();
+        var refreshed = productRepo.findAll(page);
+
+        assertThat(statistics.getPrepareStatementCount()).isPositive();
+        assertThat(refreshed.getContent()).extracting(Product::getName).contains("Vaso");
+    }
+}
@@ -0,0 +1,168 @@
+package com.zubigaray.tienda.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private FlakyDataSource replica;
+    private ReadYourWritesTracker tracker;
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        var primary = embeddedDatabase("primary");
+        replica = new FlakyDataSource(embeddedDatabase("replica"));
+        tracker = new ReadYourWritesTracker(Duration.ofSeconds(5), clock::get);
+        routingDataSource = new ReadWriteRoutingDataSource(primary, Map.of("replica-1", replica), tracker,
+                Duration.ofSeconds(1), meterRegistry);
+
+        var dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        var transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaAndTheRestToPrimary() {
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        assertThat(readWriteNode()).isEqualTo("primary");
+        assertThat(node()).isEqualTo("primary");
+        assertThat(meterRegistry.get("tienda.datasource.connections").tag("target", "replica").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void readsStayOnPrimaryForTheWriterDuringTheWindow() {
+        authenticate("ana");
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("update node set name = 'primary'"));
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        authenticate("beto");
+        assertThat(readOnlyNode()).isEqualTo("replica");
+
+        authenticate("ana");
+        clock.addAndGet(Duration.ofSeconds(5).toNanos());
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void boundUserNamePinsReadsWithoutAnAuthenticatedUser() {
+        // Registro: todavía no hay usuario autenticado
+        readWrite.executeWithoutResult(status -> {
+            tracker.bindUserName("nuevo");
+            jdbcTemplate.update("update node set name = 'primary'");
+        });
+
+        // Carga del usuario al validar su token, también antes de autenticarlo
+        assertThat(readOnlyNodeFor("nuevo")).isEqualTo("primary");
+        assertThat(readOnlyNodeFor("otro")).isEqualTo("replica");
+        // La asociación termina con la transacción
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void rolledBackWritesDoNotPinReads() {
+        authenticate("ana");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("update node set name = 'primary'");
+            status.setRollbackOnly();
+        });
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void failingReplicaIsEjectedUntilHealthCheckPasses() {
+        replica.failing = true;
+        assertThat(readOnlyNode()).isEqualTo("primary");
+
+        replica.failing = false;
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        assertThat(meterRegistry.get("tienda.datasource.replica.up").gauge().value()).isZero();
+
+        routingDataSource.checkReplicas();
+        assertThat(readOnlyNode()).isEqualTo("replica");
+        assertThat(meterRegistry.get("tienda.datasource.replica.up").gauge().value()).isEqualTo(1);
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> node());
+    }
+
+    private String readOnlyNodeFor(String userName) {
+        return readOnly.execute(status -> {
+            tracker.bindUserName(userName);
+            return node();
+        });
+    }
+
+    private String readWriteNode() {
+        return readWrite.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("select name from node", String.class);
+    }
+
+    private static void authenticate(String userName) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(userName, null, List.of()));
+    }
+
+    private static DriverManagerDataSource embeddedDatabase(String name) {
+        var dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        var jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(20))");
+        jdbc.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+
+    private static final class FlakyDataSource extends DelegatingDataSource {
+
+        private volatile boolean failing;
+
+        private FlakyDataSource(DriverManagerDataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (failing) {
+                throw new SQLException("Connection refused");
+            }
+            return super.getConnection();
+        }
+    }
+}
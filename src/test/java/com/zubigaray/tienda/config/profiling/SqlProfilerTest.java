@@ -0,0 +1,78 @@
+package com.zubigaray.tienda.config.profiling;
+
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.model.ShoppingCart;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.ProductRepo;
+import com.zubigaray.tienda.repo.ShoppingCartRepo;
+import com.zubigaray.tienda.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {"spring.flyway.enabled=false", "spring.jpa.hibernate.ddl-auto=create-drop"})
+@Import(SqlProfilerConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SqlProfilerTest {
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private ShoppingCartRepo shoppingCartRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void cartItemsAreLoadedWithTheirProductsInOneStatement() {
+        var userName = "profiler-" + UUID.randomUUID();
+        var user = new User();
+        user.setUserName(userName);
+        user.setMail(userName + "@tienda.test");
+        user.setPassword("secret");
+        user.setRegisterDate(LocalDateTime.now());
+        userRepo.save(user);
+        for (int i = 0; i < 6; i++) {
+            var product = productRepo.save(new Product(null, "Producto " + i, "Descripcion", new BigDecimal("1.00"), 10));
+            shoppingCartRepo.save(new ShoppingCart(null, user, product, 1));
+        }
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+
+        SqlStatementBudget.measure(() -> transactionTemplate.executeWithoutResult(status -> {
+            var managedUser = userRepo.findById(user.getId()).orElseThrow();
+            var items = shoppingCartRepo.findByUserOrderByIdAsc(managedUser);
+            assertThat(items).extracting(item -> item.getProduct().getName()).hasSize(6);
+        })).hasAtMostStatements(2).hasNoRepeatedStatements();
+    }
+
+    @Test
+    void repeatedShapesAreReportedIgnoringParameterListLength() {
+        var profile = new SqlRequestProfile();
+        profile.recordStatement("select p.id from products p where p.id=?");
+        profile.recordStatement("select  p.id\n from products p where p.id=?");
+        profile.recordStatement("select p.id from products p where p.id in (?, ?)");
+        profile.recordStatement("select p.id from products p where p.id in (?,?,?)");
+        profile.recordStatement("select u.id from users u where u.id=?");
+
+        assertThat(profile.getStatements()).isEqualTo(5);
+        assertThat(profile.repeatedStatements(2)).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "select p.id from products p where p.id=?", 2,
+                "select p.id from products p where p.id in (?)", 2));
+    }
+}
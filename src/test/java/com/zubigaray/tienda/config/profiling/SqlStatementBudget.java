@@ -0,0 +1,69 @@
+package com.zubigaray.tienda.config.profiling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ayuda para los tests que fija un presupuesto de sentencias SQL a un bloque de código. Requiere que el contexto de
+ * prueba registre el perfilador en Hibernate ({@code @Import(SqlProfilerConfig.class)} en los {@code @DataJpaTest}).
+ * <pre>
+ * SqlStatementBudget.measure(() -&gt; service.getCart(userName))
+ *         .hasAtMostStatements(2)
+ *         .hasNoRepeatedStatements();
+ * </pre>
+ */
+public final class SqlStatementBudget {
+
+    private final SqlRequestProfile profile;
+
+    private SqlStatementBudget(SqlRequestProfile profile) {
+        this.profile = profile;
+    }
+
+    /**
+     * Ejecuta el bloque registrando las sentencias SQL que ejecuta Hibernate en el hilo actual.
+     *
+     * @param action El bloque a medir.
+     * @return El presupuesto sobre el que verificar las sentencias ejecutadas.
+     */
+    public static SqlStatementBudget measure(Runnable action) {
+        var profile = SqlProfiler.start();
+        try {
+            action.run();
+        } finally {
+            SqlProfiler.stop();
+        }
+        return new SqlStatementBudget(profile);
+    }
+
+    /**
+     * Verifica que no se hayan ejecutado más sentencias que las indicadas.
+     *
+     * @param max Cantidad máxima de sentencias.
+     * @return Este presupuesto, para encadenar verificaciones.
+     */
+    public SqlStatementBudget hasAtMostStatements(int max) {
+        assertThat(profile.getStatements())
+                .as("SQL statements executed, repeated: %s", profile.repeatedStatements(2))
+                .isLessThanOrEqualTo(max);
+        return this;
+    }
+
+    /**
+     * Verifica que ninguna forma de sentencia se haya ejecutado más de una vez.
+     *
+     * @return Este presupuesto, para encadenar verificaciones.
+     */
+    public SqlStatementBudget hasNoRepeatedStatements() {
+        assertThat(profile.repeatedStatements(2)).as("repeated SQL statements (possible N+1)").isEmpty();
+        return this;
+    }
+
+    /**
+     * Obtiene el perfil medido.
+     *
+     * @return El perfil con las sentencias ejecutadas.
+     */
+    public SqlRequestProfile profile() {
+        return profile;
+    }
+}
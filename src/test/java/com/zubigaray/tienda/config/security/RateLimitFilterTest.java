@@ -0,0 +1,122 @@
+package com.zubigaray.tienda.config.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private static final String LOGIN = "/api/auth/login";
+
+    private final RateLimitFilter filter = new RateLimitFilter(new RateLimitProperties(true, Duration.ofMinutes(10), 4096, Map.of(
+            LOGIN, new RateLimitProperties.EndpointLimit(
+                    new RateLimitProperties.BucketLimit(3, 0),
+                    new RateLimitProperties.BucketLimit(2, 0)))));
+
+    @Test
+    void limitsByUserNameAcrossAddresses() throws Exception {
+        assertThat(login("10.0.0.1", "alice").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.2", "Alice").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.3", "alice").getStatus()).isEqualTo(429);
+        assertThat(login("10.0.0.3", "bob").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void limitsByAddressAcrossUserNames() throws Exception {
+        assertThat(login("10.0.0.1", "a").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.1", "b").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.1", "c").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.1", "d").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void keepsTheBodyReadableForTheController() throws Exception {
+        var chain = new MockFilterChain();
+        filter.doFilter(request("10.0.0.1", "alice"), new MockHttpServletResponse(), chain);
+
+        var body = chain.getRequest().getInputStream().readAllBytes();
+        assertThat(new String(body, StandardCharsets.UTF_8)).contains("\"userName\":\"alice\"");
+    }
+
+    @Test
+    void encodedPathSharesTheLoginLimits() throws Exception {
+        assertVariantIsLimited("/api/auth/%6Cogin");
+    }
+
+    @Test
+    void doubleSlashPathSharesTheLoginLimits() throws Exception {
+        assertVariantIsLimited("/api/auth//login");
+    }
+
+    @Test
+    void trailingSlashPathSharesTheLoginLimits() throws Exception {
+        assertVariantIsLimited("/api/auth/login/");
+    }
+
+    @Test
+    void ignoresEndpointsWithoutLimits() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            var request = request("10.0.0.1", "alice");
+            request.setRequestURI("/api/orders/history");
+            var response = new MockHttpServletResponse();
+            filter.doFilter(request, response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+        assertThat(filter.bucketCount()).isZero();
+    }
+
+    @Test
+    void evictsIdleBuckets() throws Exception {
+        var shortLived = new RateLimitFilter(new RateLimitProperties(true, Duration.ZERO, 4096, Map.of(
+                LOGIN, new RateLimitProperties.EndpointLimit(new RateLimitProperties.BucketLimit(3, 0), null))));
+        shortLived.doFilter(request("10.0.0.1", "alice"), new MockHttpServletResponse(), new MockFilterChain());
+        assertThat(shortLived.bucketCount()).isEqualTo(1);
+
+        shortLived.evictIdleBuckets();
+
+        assertThat(shortLived.bucketCount()).isZero();
+    }
+
+    /**
+     * Agota el balde de usuario con solicitudes a la ruta normal y comprueba que la variante también se rechaza, tanto
+     * por usuario como por IP.
+     */
+    private void assertVariantIsLimited(String path) throws Exception {
+        assertThat(login("10.0.0.1", "alice").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.2", "alice").getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.3", "alice", path).getStatus()).isEqualTo(429);
+
+        assertThat(login("10.0.0.1", "b", path).getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.1", "c", path).getStatus()).isEqualTo(200);
+        assertThat(login("10.0.0.1", "d", path).getStatus()).isEqualTo(429);
+        // Tres baldes por IP y tres por usuario, sin baldes propios para la variante
+        assertThat(filter.bucketCount()).isEqualTo(6);
+    }
+
+    private MockHttpServletResponse login(String address, String userName) throws Exception {
+        return login(address, userName, LOGIN);
+    }
+
+    private MockHttpServletResponse login(String address, String userName, String path) throws Exception {
+        var request = request(address, userName);
+        request.setRequestURI(path);
+        var response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String address, String userName) {
+        var request = new MockHttpServletRequest("POST", LOGIN);
+        request.setRemoteAddr(address);
+        request.setContentType("application/json");
+        request.setContent(("{\"password\":\"x\",\"userName\":\"" + userName + "\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
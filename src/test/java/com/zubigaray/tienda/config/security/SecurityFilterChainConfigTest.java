@@ -0,0 +1,86 @@
+package com.zubigaray.tienda.config.security;
+
+import com.zubigaray.tienda.controller.ExportController;
+import com.zubigaray.tienda.controller.ProductController;
+import com.zubigaray.tienda.service.LowStockAlertService;
+import com.zubigaray.tienda.service.OrderExportService;
+import com.zubigaray.tienda.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {ExportController.class, ProductController.class})
+@Import({SecurityFilterChainConfig.class, CustomAuthenticationEntryPoint.class, SecurityFilterChainConfigTest.Metrics.class})
+class SecurityFilterChainConfigTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UserDetailsService userDetailsService;
+
+    @MockitoBean
+    private TokenVerificationCache tokenVerificationCache;
+
+    @MockitoBean
+    private OrderExportService orderExportService;
+
+    @MockitoBean
+    private ProductService productService;
+
+    @MockitoBean
+    private LowStockAlertService lowStockAlertService;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void exportsAreForbiddenToNonAdmins() throws Exception {
+        mockMvc.perform(get("/api/exports/orders").param("from", "2025-03-01").param("to", "2025-04-01"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void adminsCanExport() throws Exception {
+        mockMvc.perform(get("/api/exports/orders").param("from", "2025-03-01").param("to", "2025-04-01"))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void restockIsForbiddenToNonAdmins() throws Exception {
+        mockMvc.perform(post("/api/products/1/restock").param("quantity", "100"))
+                .andExpect(status().isForbidden());
+        verifyNoInteractions(productService);
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void adminsCanRestock() throws Exception {
+        mockMvc.perform(post("/api/products/1/restock").param("quantity", "100"))
+                .andExpect(status().isOk());
+    }
+
+    @TestConfiguration
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.zubigaray.tienda.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenDenylistTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbcTemplate = migratedDatabase();
+    private final TokenDenylist denylist = newDenylist(jdbcTemplate, meterRegistry);
+
+    @Test
+    void bloomFilterAnswersMostChecksForTokensThatWereNotRevoked() {
+        for (int i = 0; i < 1_000; i++) {
+            denylist.revoke(UUID.randomUUID().toString(), Instant.now().plusSeconds(600));
+        }
+        var revokedToken = UUID.randomUUID().toString();
+        denylist.revoke(revokedToken, Instant.now().plusSeconds(600));
+
+        assertThat(denylist.isRevoked(revokedToken)).isTrue();
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(denylist.isRevoked(UUID.randomUUID().toString())).isFalse();
+        }
+        var falsePositives = meterRegistry.get("tienda.auth.denylist.checks").tag("result", "false-positive").counter().count();
+        assertThat(falsePositives).isLessThan(300);
+    }
+
+    @Test
+    void sweepForgetsExpiredTokensAndKeepsTheRest() throws InterruptedException {
+        var expiring = UUID.randomUUID().toString();
+        var lasting = UUID.randomUUID().toString();
+        denylist.revoke(expiring, Instant.now().plusMillis(50));
+        denylist.revoke(lasting, Instant.now().plusSeconds(600));
+        denylist.revoke(UUID.randomUUID().toString(), Instant.now().minusSeconds(1));
+        assertThat(denylist.size()).isEqualTo(2);
+
+        Thread.sleep(100);
+        denylist.sweep();
+
+        assertThat(denylist.size()).isEqualTo(1);
+        assertThat(denylist.isRevoked(expiring)).isFalse();
+        assertThat(denylist.isRevoked(lasting)).isTrue();
+    }
+
+    @Test
+    void revocationsReachTheOtherInstancesOnTheirNextSweep() {
+        var otherNode = newDenylist(jdbcTemplate, new SimpleMeterRegistry());
+        var revokedToken = UUID.randomUUID().toString();
+
+        denylist.revoke(revokedToken, Instant.now().plusSeconds(600));
+
+        assertThat(denylist.isRevoked(revokedToken)).isTrue();
+        assertThat(otherNode.isRevoked(revokedToken)).isFalse();
+        otherNode.sweep();
+        assertThat(otherNode.isRevoked(revokedToken)).isTrue();
+    }
+
+    @Test
+    void sweepDeletesExpiredRevocationsFromTheTable() throws InterruptedException {
+        denylist.revoke(UUID.randomUUID().toString(), Instant.now().plusMillis(50));
+        denylist.revoke(UUID.randomUUID().toString(), Instant.now().plusSeconds(600));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from revoked_tokens", Integer.class)).isEqualTo(2);
+
+        Thread.sleep(100);
+        denylist.sweep();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from revoked_tokens", Integer.class)).isEqualTo(1);
+    }
+
+    static TokenDenylist newDenylist(JdbcTemplate jdbcTemplate, SimpleMeterRegistry meterRegistry) {
+        return new TokenDenylist(new TokenDenylistProperties(1_000, 0.01), jdbcTemplate, meterRegistry);
+    }
+
+    /**
+     * Base H2 en modo MySQL, propia de cada llamada, con las migraciones de Flyway aplicadas.
+     */
+    static JdbcTemplate migratedDatabase() {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:denylist-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        return new JdbcTemplate(dataSource);
+    }
+}
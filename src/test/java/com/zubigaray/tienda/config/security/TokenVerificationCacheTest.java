@@ -0,0 +1,78 @@
+package com.zubigaray.tienda.config.security;
+
+import com.zubigaray.tienda.dto.TokenIntrospectionDto;
+import com.zubigaray.tienda.utils.JwtUtils;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenVerificationCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TokenDenylist denylist = TokenDenylistTest.newDenylist(TokenDenylistTest.migratedDatabase(), meterRegistry);
+    private final TokenVerificationCache cache = new TokenVerificationCache(
+            new TokenCacheProperties(2, 3, Duration.ofMinutes(5), Duration.ofSeconds(30)), denylist, meterRegistry);
+
+    @Test
+    void reusesTheVerificationOfARecentlySeenToken() {
+        var token = JwtUtils.generateToken("alice");
+
+        var first = cache.introspect(token);
+        var second = cache.introspect(token);
+
+        assertThat(first.active()).isTrue();
+        assertThat(first.subject()).isEqualTo("alice");
+        assertThat(first.expiresAt()).isAfter(Instant.now());
+        assertThat(second).isSameAs(first);
+        assertThat(meterRegistry.get("tienda.auth.token-cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsInvalidTokensAsInactive() {
+        var token = JwtUtils.generateToken("alice");
+        var tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(cache.introspect(tampered)).isEqualTo(TokenIntrospectionDto.INACTIVE);
+        assertThat(cache.introspect("not-a-token")).isEqualTo(TokenIntrospectionDto.INACTIVE);
+        assertThat(cache.introspect("a..b")).isEqualTo(TokenIntrospectionDto.INACTIVE);
+        assertThat(cache.introspect(null)).isEqualTo(TokenIntrospectionDto.INACTIVE);
+    }
+
+    @Test
+    void stopsRememberingTokensWhenFull() {
+        for (var userName : new String[]{"a", "b", "c", "d"}) {
+            assertThat(cache.introspect(JwtUtils.generateToken(userName)).subject()).isEqualTo(userName);
+        }
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void junkTokensDoNotTakeTheRoomOfValidOnes() {
+        for (var i = 0; i < 100; i++) {
+            assertThat(cache.introspect("junk-" + i)).isEqualTo(TokenIntrospectionDto.INACTIVE);
+        }
+        var token = JwtUtils.generateToken("alice");
+        cache.introspect(token);
+        cache.introspect(token);
+
+        assertThat(cache.invalidSize()).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(meterRegistry.get("tienda.auth.token-cache.size").tag("state", "inactive").gauge().value()).isEqualTo(3);
+        assertThat(meterRegistry.get("tienda.auth.token-cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void revokedTokensBecomeInactiveEvenWhenCached() {
+        var token = JwtUtils.generateToken("alice");
+        var active = cache.introspect(token);
+
+        denylist.revoke(active.tokenId(), active.expiresAt());
+
+        assertThat(cache.introspect(token)).isEqualTo(TokenIntrospectionDto.INACTIVE);
+        assertThat(cache.introspect(JwtUtils.generateToken("alice")).active()).isTrue();
+    }
+}
@@ -0,0 +1,47 @@
+package com.zubigaray.tienda.controller;
+
+import com.zubigaray.tienda.dto.AuthResultDto;
+import com.zubigaray.tienda.enums.AuthOutcome;
+import com.zubigaray.tienda.service.AuthService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AuthControllerTest {
+
+    private final AuthService authService = mock(AuthService.class);
+    private final MockMvc mockMvc;
+
+    AuthControllerTest() {
+        var controller = new AuthController();
+        ReflectionTestUtils.setField(controller, "authService", authService);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void unknownUserAndBadCredentialsGetTheSameResponse() throws Exception {
+        when(authService.login("nadie", "secret")).thenReturn(AuthResultDto.failure(AuthOutcome.UNKNOWN_USER));
+        when(authService.login("ana", "otra")).thenReturn(AuthResultDto.failure(AuthOutcome.BAD_CREDENTIALS));
+
+        var unknownUser = login("nadie", "secret");
+        var badCredentials = login("ana", "otra");
+
+        assertThat(unknownUser).isEqualTo(badCredentials).contains("LOGIN_FAILED");
+    }
+
+    private String login(String userName, String password) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"userName\":\"" + userName + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().isUnauthorized())
+                .andReturn().getResponse().getContentAsString();
+    }
+}
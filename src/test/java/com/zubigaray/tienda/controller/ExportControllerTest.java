@@ -0,0 +1,30 @@
+package com.zubigaray.tienda.controller;
+
+import com.zubigaray.tienda.service.OrderExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ExportControllerTest {
+
+    @Test
+    void exportUsesItsOwnAsyncTimeoutInsteadOfTheGlobalOne() throws Exception {
+        var controller = new ExportController();
+        ReflectionTestUtils.setField(controller, "orderExportService", mock(OrderExportService.class));
+        ReflectionTestUtils.setField(controller, "exportTimeout", Duration.ofMinutes(30));
+        var mockMvc = MockMvcBuilders.standaloneSetup(controller).setAsyncRequestTimeout(10_000).build();
+
+        var result = mockMvc.perform(get("/api/exports/orders").param("from", "2025-03-01").param("to", "2025-04-01"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+    }
+}
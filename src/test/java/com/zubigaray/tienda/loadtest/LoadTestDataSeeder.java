@@ -0,0 +1,85 @@
+package com.zubigaray.tienda.loadtest;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Carga los datos iniciales del perfil de pruebas de carga: usuarios, productos y carritos.
+ * Todos los usuarios comparten la misma contraseña, y su hash BCrypt se calcula una sola vez.
+ */
+@Component
+@Profile("loadtest")
+class LoadTestDataSeeder implements ApplicationRunner {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final int users;
+    private final int products;
+    private final int cartItems;
+
+    LoadTestDataSeeder(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder,
+                       @Value("${loadtest.seed.users}") int users,
+                       @Value("${loadtest.seed.products}") int products,
+                       @Value("${loadtest.seed.cart-items}") int cartItems) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.users = users;
+        this.products = products;
+        this.cartItems = cartItems;
+    }
+
+    static String userName(int index) {
+        return "loaduser" + index;
+    }
+
+    int getUsers() {
+        return users;
+    }
+
+    int getProducts() {
+        return products;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        var now = Timestamp.valueOf(LocalDateTime.now());
+        var passwordHash = passwordEncoder.encode(PASSWORD);
+        var random = ThreadLocalRandom.current();
+
+        var userRows = new ArrayList<Object[]>(users);
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{"Load User " + i, userName(i), userName(i) + "@loadtest.local", passwordHash, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (name, user_name, mail, password, register_date) VALUES (?, ?, ?, ?, ?)", userRows);
+
+        var productRows = new ArrayList<Object[]>(products);
+        for (int i = 0; i < products; i++) {
+            productRows.add(new Object[]{"Product " + i, "Load test product " + i,
+                    BigDecimal.valueOf(random.nextInt(100, 100_000), 2), 1_000_000});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO products (name, description, price, stock) VALUES (?, ?, ?, ?)", productRows);
+
+        var userIds = jdbcTemplate.queryForList("SELECT id FROM users ORDER BY id", Long.class);
+        var productIds = jdbcTemplate.queryForList("SELECT id FROM products ORDER BY id", Long.class);
+        var cartRows = new ArrayList<Object[]>(users * cartItems);
+        for (var userId : userIds) {
+            for (int i = 0; i < cartItems; i++) {
+                cartRows.add(new Object[]{userId, productIds.get((int) ((userId * cartItems + i) % productIds.size())), 1 + random.nextInt(3)});
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO shopping_cart (user_id, product_id, quantity) VALUES (?, ?, ?)", cartRows);
+    }
+}
@@ -0,0 +1,145 @@
+package com.zubigaray.tienda.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Recorrido de las pruebas de carga contra una instancia de la aplicación ya levantada y con los datos de
+ * {@link LoadTestDataSeeder}: login, navegación autenticada del catálogo, edición del carrito y compra. Lo usan
+ * {@link ScenarioLoadTest} y los benchmarks que comparan configuraciones de la aplicación completa.
+ */
+public class ScenarioDriver {
+
+    private static final String[] SCENARIOS = {"login", "browse", "cart", "checkout"};
+
+    private final String baseUrl;
+    private final int products;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * Constructor para la clase ScenarioDriver.
+     *
+     * @param baseUrl  URL base de la aplicación, por ejemplo {@code http://localhost:8080}.
+     * @param products Cantidad de productos cargados, para elegir páginas y productos existentes.
+     */
+    public ScenarioDriver(String baseUrl, int products) {
+        this.baseUrl = baseUrl;
+        this.products = products;
+    }
+
+    /**
+     * Ejecuta el recorrido con un usuario virtual por hilo virtual; cada usuario virtual usa su propia cuenta para
+     * que las compras no compitan por el mismo carrito.
+     *
+     * @param concurrency       Cantidad de usuarios virtuales concurrentes; no puede superar los usuarios cargados.
+     * @param iterationsPerUser Cantidad de recorridos de cada usuario virtual.
+     * @return El histograma de latencias de cada escenario, en el orden del recorrido.
+     */
+    public Map<String, LatencyHistogram> run(int concurrency, int iterationsPerUser) {
+        var histograms = new LinkedHashMap<String, LatencyHistogram>();
+        for (var scenario : SCENARIOS) {
+            histograms.put(scenario, new LatencyHistogram());
+        }
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < concurrency; user++) {
+                var userName = LoadTestDataSeeder.userName(user);
+                executor.execute(() -> {
+                    for (int i = 0; i < iterationsPerUser; i++) {
+                        runIteration(userName, histograms);
+                    }
+                });
+            }
+        }
+        return histograms;
+    }
+
+    /**
+     * Da formato de tabla a los resultados de {@link #run(int, int)}.
+     *
+     * @param histograms     Los histogramas de cada escenario.
+     * @param elapsedSeconds La duración de la corrida, para calcular el rendimiento.
+     * @return Una línea de encabezado y una línea por escenario.
+     */
+    public static String format(Map<String, LatencyHistogram> histograms, double elapsedSeconds) {
+        var table = new StringBuilder();
+        table.append(String.format("%-10s %8s %7s %10s %10s %10s %10s %10s %10s%n",
+                "scenario", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms"));
+        histograms.forEach((scenario, histogram) -> table.append(String.format("%-10s %8d %7d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                scenario, histogram.count(), histogram.errors(), histogram.count() / elapsedSeconds,
+                histogram.percentileMicros(50) / 1e3, histogram.percentileMicros(90) / 1e3, histogram.percentileMicros(99) / 1e3,
+                histogram.percentileMicros(99.9) / 1e3, histogram.maxMicros() / 1e3)));
+        return table.toString();
+    }
+
+    private void runIteration(String userName, Map<String, LatencyHistogram> histograms) {
+        var random = ThreadLocalRandom.current();
+
+        var login = send(histograms.get("login"), request("/api/auth/login", null)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"userName\":\"" + userName + "\",\"password\":\"" + LoadTestDataSeeder.PASSWORD + "\"}")));
+        if (login == null) {
+            return;
+        }
+        String token;
+        try {
+            token = objectMapper.readTree(login.body()).get("token").asText();
+        } catch (IOException e) {
+            return;
+        }
+
+        var pages = Math.max(1, products / 20);
+        send(histograms.get("browse"), request("/api/products/?size=20&page=" + random.nextInt(pages), token).GET());
+
+        var productId = 1 + random.nextInt(products);
+        send(histograms.get("cart"), request("/api/cart/items", token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"productId\":" + productId + ",\"quantity\":" + (1 + random.nextInt(3)) + "}")));
+
+        send(histograms.get("checkout"), request("/api/orders/checkout", token).POST(HttpRequest.BodyPublishers.noBody()));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        var builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    /**
+     * Envía una solicitud y registra su latencia.
+     *
+     * @return La respuesta si fue exitosa (2xx), o {@code null} en caso contrario.
+     */
+    private HttpResponse<String> send(LatencyHistogram histogram, HttpRequest.Builder builder) {
+        var start = System.nanoTime();
+        try {
+            var response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+            var success = response.statusCode() / 100 == 2;
+            histogram.record((System.nanoTime() - start) / 1_000, success);
+            return success ? response : null;
+        } catch (IOException e) {
+            histogram.record((System.nanoTime() - start) / 1_000, false);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.zubigaray.tienda.loadtest;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de carga reproducible que levanta la aplicación completa contra H2 en modo MySQL y ejecuta, con una
+ * cantidad configurable de usuarios virtuales concurrentes, el recorrido de {@link ScenarioDriver}: login, navegación
+ * autenticada del catálogo, edición del carrito y compra. Informa el rendimiento y el histograma de latencias de cada
+ * escenario en la consola y en {@code target/loadtest-report.txt}.
+ * <p>
+ * Se ejecuta sin red ni MySQL con {@code mvn test -Ploadtest}. La carga se ajusta con
+ * {@code -Dloadtest.concurrency=...}, {@code -Dloadtest.iterations=...} y {@code -Dloadtest.seed.users=...}.
+ */
+@Tag("loadtest")
+@ActiveProfiles("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ScenarioLoadTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private LoadTestDataSeeder seeder;
+
+    @Value("${loadtest.concurrency}")
+    private int concurrency;
+
+    @Value("${loadtest.iterations}")
+    private int iterations;
+
+    @Value("${loadtest.warm-up-iterations}")
+    private int warmUpIterations;
+
+    @Test
+    void runScenarios() throws Exception {
+        assertThat(concurrency).isLessThanOrEqualTo(seeder.getUsers());
+        var driver = new ScenarioDriver("http://localhost:" + port, seeder.getProducts());
+
+        driver.run(concurrency, warmUpIterations);
+        var started = System.nanoTime();
+        var histograms = driver.run(concurrency, iterations);
+        var elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+        var report = String.format("%nLoad test: concurrency=%d, iterations=%d, elapsed=%.1f s%n", concurrency, iterations, elapsedSeconds)
+                + ScenarioDriver.format(histograms, elapsedSeconds);
+        System.out.println(report);
+        Files.writeString(Path.of("target", "loadtest-report.txt"), report);
+
+        histograms.values().forEach(histogram -> assertThat(histogram.errors()).isZero());
+    }
+}
@@ -0,0 +1,43 @@
+package com.zubigaray.tienda.model;
+
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.MySQLDialect;
+
+/**
+ * Resuelve el tipo de columna que Hibernate genera en MySQL para un atributo de una entidad, sin conectarse a una base.
+ * Las pruebas corren sobre H2, que no limita el largo de las columnas de texto (tinytext incluido), por lo que el
+ * tamaño de las columnas de MySQL se verifica con esta clase.
+ */
+public final class MySqlColumnTypes {
+
+    private MySqlColumnTypes() {
+    }
+
+    /**
+     * Devuelve el tipo de la columna de un atributo.
+     *
+     * @param entity    La entidad que declara el atributo.
+     * @param attribute El nombre del atributo.
+     * @param related   Las entidades relacionadas que hacen falta para mapear la entidad.
+     * @return El tipo SQL de la columna en MySQL, por ejemplo {@code longtext}.
+     */
+    public static String of(Class<?> entity, String attribute, Class<?>... related) {
+        var registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, MySQLDialect.class.getName())
+                .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+                .build();
+        try {
+            var sources = new MetadataSources(registry).addAnnotatedClass(entity);
+            for (var relatedEntity : related) {
+                sources.addAnnotatedClass(relatedEntity);
+            }
+            var metadata = sources.buildMetadata();
+            var column = metadata.getEntityBinding(entity.getName()).getProperty(attribute).getColumns().get(0);
+            return column.getSqlType(metadata);
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.config.datasource.ReadYourWritesTracker;
+import com.zubigaray.tienda.enums.AuthOutcome;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.UserRepo;
+import com.zubigaray.tienda.utils.JwtUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceTest {
+
+    private final UserRepo userRepo = mock(UserRepo.class);
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private final AuthServiceImp authService = new AuthServiceImp();
+
+    AuthServiceTest() {
+        ReflectionTestUtils.setField(authService, "userRepo", userRepo);
+        ReflectionTestUtils.setField(authService, "passwordEncoder", passwordEncoder);
+        ReflectionTestUtils.setField(authService, "readYourWritesTracker",
+                new StaticListableBeanFactory().getBeanProvider(ReadYourWritesTracker.class));
+    }
+
+    @Test
+    void loginWithAnUnknownUserNameIsUnknownUser() {
+        when(userRepo.findByUserName("nadie")).thenReturn(Optional.empty());
+
+        var result = authService.login("nadie", "secret");
+
+        assertThat(result.outcome()).isEqualTo(AuthOutcome.UNKNOWN_USER);
+        assertThat(result.token()).isNull();
+    }
+
+    @Test
+    void loginWithAWrongPasswordIsBadCredentials() {
+        when(userRepo.findByUserName("ana")).thenReturn(Optional.of(user("ana", "ana@tienda.test", "secret")));
+
+        var result = authService.login("ana", "otra");
+
+        assertThat(result.outcome()).isEqualTo(AuthOutcome.BAD_CREDENTIALS);
+        assertThat(result.token()).isNull();
+    }
+
+    @Test
+    void loginWithValidCredentialsReturnsATokenForTheUser() {
+        when(userRepo.findByUserName("ana")).thenReturn(Optional.of(user("ana", "ana@tienda.test", "secret")));
+
+        var result = authService.login("ana", "secret");
+
+        assertThat(result.outcome()).isEqualTo(AuthOutcome.LOGIN_SUCCESS);
+        assertThat(JwtUtils.getUserNameFromToken(result.token())).contains("ana");
+    }
+
+    @Test
+    void signUpWithATakenUserNameIsDuplicateUserName() {
+        when(userRepo.existsByUserName("ana")).thenReturn(true);
+
+        var result = authService.signUp("Ana", "ana", "secret", "otra@tienda.test");
+
+        assertThat(result.outcome()).isEqualTo(AuthOutcome.DUPLICATE_USERNAME);
+        assertThat(result.token()).isNull();
+        verify(userRepo, never()).save(any());
+    }
+
+    @Test
+    void signUpWithATakenMailIsDuplicateMail() {
+        when(userRepo.existsByMail("ana@tienda.test")).thenReturn(true);
+
+        var result = authService.signUp("Ana", "ana2", "secret", "ana@tienda.test");
+
+        assertThat(result.outcome()).isEqualTo(AuthOutcome.DUPLICATE_MAIL);
+        assertThat(result.token()).isNull();
+        verify(userRepo, never()).save(any());
+    }
+
+    @Test
+    void signUpSavesTheUserWithAnEncodedPassword() {
+        var result = authService.signUp("Ana", "ana", "secret", "ana@tienda.test");
+
+        assertThat(result.outcome()).isEqualTo(AuthOutcome.USER_CREATED);
+        assertThat(JwtUtils.getUserNameFromToken(result.token())).contains("ana");
+        verify(userRepo).save(argThat(user ->
+                user.getUserName().equals("ana") && passwordEncoder.matches("secret", user.getPassword())));
+    }
+
+    private User user(String userName, String mail, String password) {
+        var user = new User();
+        user.setUserName(userName);
+        user.setMail(mail);
+        user.setPassword(passwordEncoder.encode(password));
+        user.setRegisterDate(LocalDateTime.now());
+        return user;
+    }
+}
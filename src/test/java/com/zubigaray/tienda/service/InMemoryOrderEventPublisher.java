@@ -0,0 +1,24 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.model.OrderOutboxEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación en memoria de {@link OrderEventPublisher} para pruebas.
+ * Guarda los eventos recibidos y permite simular fallas de publicación.
+ */
+class InMemoryOrderEventPublisher implements OrderEventPublisher {
+
+    final List<OrderOutboxEvent> published = new ArrayList<>();
+    boolean failing;
+
+    @Override
+    public void publish(List<OrderOutboxEvent> events) {
+        if (failing) {
+            throw new IllegalStateException("Broker unavailable");
+        }
+        published.addAll(events);
+    }
+}
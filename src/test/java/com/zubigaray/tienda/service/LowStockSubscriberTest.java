@@ -0,0 +1,112 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.LowStockAlertDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LowStockSubscriberTest {
+
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    private final List<Object> sent = new ArrayList<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    private final SseEmitter emitter = new SseEmitter() {
+        @Override
+        public void send(SseEventBuilder builder) {
+            sent.add(builder.build());
+        }
+    };
+
+    @Test
+    void coalescesAlertsPerProductAndBoundsTheBuffer() {
+        var subscriber = new LowStockSubscriber(emitter, tasks::add, 2, dropped, s -> { });
+
+        subscriber.offer(alert(1L, 5));
+        subscriber.offer(alert(1L, 4));
+        subscriber.offer(alert(2L, 3));
+        subscriber.offer(alert(3L, 2));
+
+        // Un solo envío programado aunque hubo cuatro alertas
+        assertThat(tasks).hasSize(1);
+        assertThat(dropped.get()).isEqualTo(1);
+
+        tasks.poll().run();
+
+        assertThat(sent).hasSize(2);
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void schedulesAnotherDrainForAlertsOfferedAfterTheFirstOne() {
+        var subscriber = new LowStockSubscriber(emitter, tasks::add, 10, dropped, s -> { });
+
+        subscriber.offer(alert(1L, 5));
+        tasks.poll().run();
+        subscriber.offer(alert(2L, 5));
+
+        assertThat(tasks).hasSize(1);
+        tasks.poll().run();
+        assertThat(sent).hasSize(2);
+    }
+
+    @Test
+    void completesTheEmitterWithAnErrorWhenASendFails() {
+        var errors = new ArrayList<Throwable>();
+        var failedSubscribers = new ArrayList<LowStockSubscriber>();
+        var brokenEmitter = new SseEmitter() {
+            @Override
+            public void send(SseEventBuilder builder) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void completeWithError(Throwable ex) {
+                errors.add(ex);
+            }
+        };
+        var subscriber = new LowStockSubscriber(brokenEmitter, tasks::add, 10, dropped, failedSubscribers::add);
+
+        subscriber.offer(alert(1L, 5));
+        tasks.poll().run();
+        subscriber.offer(alert(2L, 5));
+
+        assertThat(errors).singleElement().isInstanceOf(IOException.class);
+        assertThat(failedSubscribers).containsExactly(subscriber);
+        // Un suscriptor caído no vuelve a programar envíos
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    void disconnectsTheSubscriberWhenTheExecutorIsFull() {
+        var errors = new ArrayList<Throwable>();
+        var failedSubscribers = new ArrayList<LowStockSubscriber>();
+        var trackedEmitter = new SseEmitter() {
+            @Override
+            public void completeWithError(Throwable ex) {
+                errors.add(ex);
+            }
+        };
+        var subscriber = new LowStockSubscriber(trackedEmitter, task -> {
+            throw new RejectedExecutionException("Queue full");
+        }, 10, dropped, failedSubscribers::add);
+
+        subscriber.offer(alert(1L, 5));
+
+        assertThat(errors).singleElement().isInstanceOf(RejectedExecutionException.class);
+        assertThat(failedSubscribers).containsExactly(subscriber);
+    }
+
+    private static LowStockAlertDto alert(Long productId, int stock) {
+        return new LowStockAlertDto(productId, "Product " + productId, stock, 10, true, LocalDateTime.now());
+    }
+}
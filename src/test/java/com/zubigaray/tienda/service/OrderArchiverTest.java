@@ -0,0 +1,128 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.OrderHistoryDto;
+import com.zubigaray.tienda.dto.OrderLineDto;
+import com.zubigaray.tienda.model.ArchivedOrder;
+import com.zubigaray.tienda.model.MySqlColumnTypes;
+import com.zubigaray.tienda.model.Order;
+import com.zubigaray.tienda.model.OrderDetail;
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.ArchivedOrderRepo;
+import com.zubigaray.tienda.repo.OrderDetailRepo;
+import com.zubigaray.tienda.repo.OrderRepo;
+import com.zubigaray.tienda.repo.ProductRepo;
+import com.zubigaray.tienda.repo.UserRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:archive;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop", "spring.flyway.enabled=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(OrderHistoryServiceImp.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderArchiverTest {
+
+    private static final int LINES = 30;
+
+    @Autowired
+    private OrderHistoryService orderHistoryService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderDetailRepo orderDetailRepo;
+
+    @Autowired
+    private ArchivedOrderRepo archivedOrderRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void archivedMultiLineOrderIsReadBackThroughTheHistory() {
+        var transactionTemplate = new TransactionTemplate(transactionManager);
+        var now = LocalDateTime.now().withNano(0);
+        var coldLines = new ArrayList<OrderLineDto>();
+        var ids = transactionTemplate.execute(status -> {
+            var user = new User();
+            user.setUserName("archive");
+            user.setMail("archive@tienda.test");
+            user.setPassword("secret");
+            user.setRegisterDate(now.minusYears(2));
+            userRepo.save(user);
+
+            var coldDetails = new ArrayList<OrderDetail>();
+            for (int i = 0; i < LINES; i++) {
+                var product = productRepo.save(new Product(null, "Producto " + i, "Descripcion", new BigDecimal("3.25"), 100));
+                coldDetails.add(new OrderDetail(null, null, product, i + 1, new BigDecimal("3.25").multiply(BigDecimal.valueOf(i + 1))));
+            }
+            var cold = order(user, now.minusDays(400), coldDetails);
+            coldDetails.forEach(detail -> coldLines.add(new OrderLineDto(cold.getId(), detail.getProduct().getId(),
+                    detail.getQuantity(), detail.getSubTotal())));
+            var hot = order(user, now.minusDays(2), List.of(
+                    new OrderDetail(null, null, coldDetails.get(0).getProduct(), 1, new BigDecimal("3.25"))));
+            return List.of(cold.getId(), hot.getId());
+        });
+        var meterRegistry = new SimpleMeterRegistry();
+        var archiver = new OrderArchiver(orderRepo, orderDetailRepo, archivedOrderRepo, jdbcTemplate, transactionTemplate,
+                meterRegistry, 365, 10);
+
+        archiver.archive();
+
+        assertThat(orderRepo.findAll()).extracting(Order::getId).containsExactly(ids.get(1));
+        assertThat(archivedOrderRepo.findById(ids.get(0))).get()
+                .satisfies(archived -> assertThat(archived.getLineItems().length()).isGreaterThan(255));
+        var history = orderHistoryService.findByUser("archive");
+        assertThat(history).extracting(OrderHistoryDto::orderId, OrderHistoryDto::archived)
+                .containsExactly(tuple(ids.get(1), false), tuple(ids.get(0), true));
+        assertThat(history.get(1).lines()).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(coldLines);
+        assertThat(history.get(1).totalPrice()).isEqualByComparingTo("1511.25");
+        assertThat(meterRegistry.get("tienda.orders.hot").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("tienda.orders.archived").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void lineItemsColumnFitsLargeOrdersOnMySql() {
+        assertThat(MySqlColumnTypes.of(ArchivedOrder.class, "lineItems")).isEqualTo("longtext");
+    }
+
+    private Order order(User user, LocalDateTime date, List<OrderDetail> details) {
+        var order = new Order();
+        order.setUser(user);
+        order.setDate(date);
+        order.setTotalPrice(details.stream().map(OrderDetail::getSubTotal).reduce(BigDecimal.ZERO, BigDecimal::add));
+        orderRepo.save(order);
+        details.forEach(detail -> detail.setOrder(order));
+        orderDetailRepo.saveAll(details);
+        return order;
+    }
+}
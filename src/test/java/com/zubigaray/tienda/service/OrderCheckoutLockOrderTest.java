@@ -0,0 +1,95 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.model.Order;
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.model.ShoppingCart;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.ProductRepo;
+import com.zubigaray.tienda.repo.ShoppingCartRepo;
+import com.zubigaray.tienda.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:checkout-lock-order;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop", "spring.flyway.enabled=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderServiceImp.class, SalesRollupServiceImp.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderCheckoutLockOrderTest {
+
+    private static final int PRODUCTS = 8;
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private ShoppingCartRepo shoppingCartRepo;
+
+    @Test
+    void checkoutsOfTheSameProductsInOppositeCartOrderDoNotDeadlock() throws Exception {
+        var ascending = saveUser("ascending");
+        var descending = saveUser("descending");
+        var products = new ArrayList<Product>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(productRepo.save(new Product(null, "Producto " + i, "Descripcion", new BigDecimal("1.00"), 1_000)));
+        }
+
+        try (var executor = Executors.newFixedThreadPool(2)) {
+            for (int round = 0; round < ROUNDS; round++) {
+                // Los carritos tienen los mismos productos en órdenes opuestos
+                for (int i = 0; i < PRODUCTS; i++) {
+                    shoppingCartRepo.save(new ShoppingCart(null, ascending, products.get(i), 1));
+                }
+                for (int i = PRODUCTS - 1; i >= 0; i--) {
+                    shoppingCartRepo.save(new ShoppingCart(null, descending, products.get(i), 1));
+                }
+
+                var barrier = new CyclicBarrier(2);
+                var checkouts = List.<Future<Order>>of(
+                        executor.submit(() -> { barrier.await(); return orderService.checkout("ascending"); }),
+                        executor.submit(() -> { barrier.await(); return orderService.checkout("descending"); }));
+                for (var checkout : checkouts) {
+                    assertThat(checkout.get(30, TimeUnit.SECONDS).getTotalPrice()).isEqualByComparingTo("8.00");
+                }
+            }
+        }
+
+        assertThat(productRepo.findAll()).allSatisfy(product -> assertThat(product.getStock()).isEqualTo(1_000 - 2 * ROUNDS));
+    }
+
+    private User saveUser(String userName) {
+        var user = new User();
+        user.setUserName(userName);
+        user.setMail(userName + "@tienda.test");
+        user.setPassword("secret");
+        user.setRegisterDate(LocalDateTime.now());
+        return userRepo.save(user);
+    }
+}
@@ -0,0 +1,96 @@
+package com.zubigaray.tienda.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zubigaray.tienda.dto.OrderEventDto;
+import com.zubigaray.tienda.model.MySqlColumnTypes;
+import com.zubigaray.tienda.model.OrderOutboxEvent;
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.model.ShoppingCart;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.OrderOutboxRepo;
+import com.zubigaray.tienda.repo.ProductRepo;
+import com.zubigaray.tienda.repo.ShoppingCartRepo;
+import com.zubigaray.tienda.repo.UserRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:checkout;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop", "spring.flyway.enabled=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({OrderServiceImp.class, SalesRollupServiceImp.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderCheckoutOutboxTest {
+
+    private static final int LINES = 12;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private ShoppingCartRepo shoppingCartRepo;
+
+    @Autowired
+    private OrderOutboxRepo orderOutboxRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void multiLineCheckoutIsRelayedWithTheWholePayload() throws Exception {
+        var user = new User();
+        user.setUserName("checkout");
+        user.setMail("checkout@tienda.test");
+        user.setPassword("secret");
+        user.setRegisterDate(LocalDateTime.now());
+        userRepo.save(user);
+        for (int i = 0; i < LINES; i++) {
+            var product = productRepo.save(new Product(null, "Producto con un nombre largo " + i, "Descripcion",
+                    new BigDecimal("12.50"), 100));
+            shoppingCartRepo.save(new ShoppingCart(null, user, product, i + 1));
+        }
+
+        var order = orderService.checkout("checkout");
+
+        var publisher = new InMemoryOrderEventPublisher();
+        new OrderOutboxRelay(orderOutboxRepo, publisher, new TransactionTemplate(transactionManager),
+                new SimpleMeterRegistry(), 10).relay();
+
+        assertThat(publisher.published).singleElement().satisfies(event -> assertThat(event.getOrderId()).isEqualTo(order.getId()));
+        var payload = publisher.published.get(0).getPayload();
+        assertThat(payload.length()).isGreaterThan(255);
+        var event = objectMapper.readValue(payload, OrderEventDto.class);
+        assertThat(event.lines()).hasSize(LINES);
+        assertThat(orderOutboxRepo.countByPublishedAtIsNull()).isZero();
+    }
+
+    @Test
+    void payloadColumnFitsLargeEventsOnMySql() {
+        assertThat(MySqlColumnTypes.of(OrderOutboxEvent.class, "payload")).isEqualTo("longtext");
+    }
+}
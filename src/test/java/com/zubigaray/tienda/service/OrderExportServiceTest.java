@@ -0,0 +1,132 @@
+package com.zubigaray.tienda.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zubigaray.tienda.enums.ExportFormat;
+import com.zubigaray.tienda.model.ArchivedOrder;
+import com.zubigaray.tienda.model.Order;
+import com.zubigaray.tienda.model.OrderDetail;
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.ArchivedOrderRepo;
+import com.zubigaray.tienda.repo.OrderDetailRepo;
+import com.zubigaray.tienda.repo.OrderRepo;
+import com.zubigaray.tienda.repo.ProductRepo;
+import com.zubigaray.tienda.repo.UserRepo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:export;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop", "spring.flyway.enabled=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class OrderExportServiceTest {
+
+    private static final LocalDate FROM = LocalDate.of(2025, 3, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 4, 1);
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderDetailRepo orderDetailRepo;
+
+    @Autowired
+    private ArchivedOrderRepo archivedOrderRepo;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private OrderExportService orderExportService;
+    private Long orderId;
+    private Long firstProductId;
+    private Long secondProductId;
+
+    @BeforeEach
+    void setUp() {
+        orderExportService = new OrderExportServiceImp(dataSource, objectMapper, 2);
+
+        var user = new User();
+        user.setUserName("Doe, Ana");
+        user.setMail("ana@tienda.test");
+        user.setPassword("secret");
+        user.setRegisterDate(LocalDateTime.of(2024, 1, 1, 0, 0));
+        userRepo.save(user);
+        var first = productRepo.save(new Product(null, "Primero", "Descripcion", new BigDecimal("10.00"), 100));
+        var second = productRepo.save(new Product(null, "Segundo", "Descripcion", new BigDecimal("2.50"), 100));
+        firstProductId = first.getId();
+        secondProductId = second.getId();
+
+        orderId = order(user, LocalDateTime.of(2025, 3, 5, 10, 0), List.of(
+                new OrderDetail(null, null, first, 2, new BigDecimal("20.00")),
+                new OrderDetail(null, null, second, 1, new BigDecimal("2.50"))));
+        order(user, LocalDateTime.of(2025, 4, 2, 10, 0), List.of(new OrderDetail(null, null, first, 1, new BigDecimal("10.00"))));
+        archivedOrderRepo.saveAndFlush(new ArchivedOrder(9000L, user.getId(), LocalDateTime.of(2025, 3, 2, 9, 0),
+                new BigDecimal("30.00"), first.getId() + ":3:30.00", LocalDateTime.now()));
+    }
+
+    @Test
+    void exportsHotAndArchivedLinesOfTheRangeAsCsv() throws Exception {
+        var output = new ByteArrayOutputStream();
+
+        orderExportService.export(FROM, TO, ExportFormat.CSV, output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8).lines()).containsExactly(
+                "order_id,order_date,user_name,order_total,product_id,quantity,sub_total,archived",
+                orderId + ",2025-03-05T10:00,\"Doe, Ana\",22.50," + firstProductId + ",2,20.00,false",
+                orderId + ",2025-03-05T10:00,\"Doe, Ana\",22.50," + secondProductId + ",1,2.50,false",
+                "9000,2025-03-02T09:00,\"Doe, Ana\",30.00," + firstProductId + ",3,30.00,true");
+    }
+
+    @Test
+    void exportsOneJsonObjectPerLineAsNdjson() throws Exception {
+        var output = new ByteArrayOutputStream();
+
+        orderExportService.export(FROM, TO, ExportFormat.NDJSON, output);
+
+        var rows = output.toString(StandardCharsets.UTF_8).lines().map(line -> {
+            try {
+                return objectMapper.readTree(line);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).toList();
+        assertThat(rows).extracting(row -> row.get("orderId").asLong(), row -> row.get("archived").asBoolean())
+                .containsExactly(
+                        tuple(orderId, false),
+                        tuple(orderId, false),
+                        tuple(9000L, true));
+        assertThat(rows.get(2).get("subTotal").decimalValue()).isEqualByComparingTo("30.00");
+    }
+
+    private Long order(User user, LocalDateTime date, List<OrderDetail> details) {
+        var order = new Order();
+        order.setUser(user);
+        order.setDate(date);
+        order.setTotalPrice(details.stream().map(OrderDetail::getSubTotal).reduce(BigDecimal.ZERO, BigDecimal::add));
+        orderRepo.save(order);
+        details.forEach(detail -> detail.setOrder(order));
+        orderDetailRepo.saveAll(details);
+        return order.getId();
+    }
+}
@@ -0,0 +1,85 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.enums.OrderEventType;
+import com.zubigaray.tienda.model.OrderOutboxEvent;
+import com.zubigaray.tienda.repo.OrderOutboxRepo;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderOutboxRelayTest {
+
+    private final List<OrderOutboxEvent> table = new ArrayList<>();
+    private final InMemoryOrderEventPublisher publisher = new InMemoryOrderEventPublisher();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        var repo = mock(OrderOutboxRepo.class);
+        when(repo.findByPublishedAtIsNullOrderByIdAsc(any(Limit.class))).thenAnswer(invocation -> {
+            Limit limit = invocation.getArgument(0);
+            return pending().stream().limit(limit.max()).toList();
+        });
+        when(repo.countByPublishedAtIsNull()).thenAnswer(invocation -> (long) pending().size());
+        when(repo.findFirstByPublishedAtIsNullOrderByIdAsc()).thenAnswer(invocation -> pending().stream().findFirst());
+
+        var transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        relay = new OrderOutboxRelay(repo, publisher, new TransactionTemplate(transactionManager), meterRegistry, 2);
+    }
+
+    @Test
+    void publishesPendingEventsInOrderAcrossBatches() {
+        addEvent(1L, 10L);
+        addEvent(2L, 11L);
+        addEvent(3L, 10L);
+
+        relay.relay();
+
+        assertThat(publisher.published).extracting(OrderOutboxEvent::getId).containsExactly(1L, 2L, 3L);
+        assertThat(pending()).isEmpty();
+        assertThat(meterRegistry.get("tienda.outbox.published").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("tienda.outbox.pending").gauge().value()).isZero();
+    }
+
+    @Test
+    void keepsEventsPendingWhenPublisherFails() {
+        addEvent(1L, 10L);
+        publisher.failing = true;
+
+        relay.relay();
+
+        assertThat(pending()).hasSize(1);
+        assertThat(meterRegistry.get("tienda.outbox.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("tienda.outbox.pending").gauge().value()).isEqualTo(1);
+
+        publisher.failing = false;
+        relay.relay();
+
+        assertThat(publisher.published).extracting(OrderOutboxEvent::getId).containsExactly(1L);
+        assertThat(pending()).isEmpty();
+    }
+
+    private void addEvent(Long id, Long orderId) {
+        table.add(new OrderOutboxEvent(id, orderId, OrderEventType.ORDER_CREATED, "{}", LocalDateTime.now(), null));
+    }
+
+    private List<OrderOutboxEvent> pending() {
+        return table.stream().filter(event -> event.getPublishedAt() == null).toList();
+    }
+}
@@ -0,0 +1,108 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.ProductDto;
+import com.zubigaray.tienda.dto.StockChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class ProductCatalogTest {
+
+    @TempDir
+    private Path directory;
+
+    private JdbcTemplate jdbcTemplate;
+    private Path snapshotFile;
+
+    @BeforeEach
+    void setUp() {
+        var dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:catalog-" + UUID.randomUUID()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        snapshotFile = directory.resolve("catalog.snapshot");
+        for (int i = 1; i <= 5; i++) {
+            jdbcTemplate.update("INSERT INTO products (name, description, price, stock, updated_at) VALUES (?, '', ?, ?, ?)",
+                    "Producto " + i, new BigDecimal(i + ".50"), i * 10, Timestamp.valueOf("2025-01-0" + i + " 10:00:00"));
+        }
+    }
+
+    @Test
+    void warmRestartServesTheSnapshotAndReadsOnlyChangedRows() {
+        var first = catalog(new SimpleMeterRegistry());
+        first.loadSnapshot();
+        assertThat(first.findPage(PageRequest.of(0, 10))).isEmpty();
+        first.reconcile();
+        first.onShutdown();
+        assertThat(snapshotFile).exists();
+
+        jdbcTemplate.update("UPDATE products SET stock = 99 WHERE id = 2");
+        jdbcTemplate.update("INSERT INTO products (name, description, price, stock) VALUES ('Nuevo', '', 1.00, 1)");
+
+        var meterRegistry = new SimpleMeterRegistry();
+        var second = catalog(meterRegistry);
+        second.loadSnapshot();
+        assertThat(second.findPage(PageRequest.of(0, 10, Sort.by("id"))).orElseThrow().getContent())
+                .extracting(ProductDto::stock).containsExactly(10, 20, 30, 40, 50);
+
+        second.reconcile();
+        var page = second.findPage(PageRequest.of(0, 10)).orElseThrow();
+        assertThat(page.getTotalElements()).isEqualTo(6);
+        assertThat(page.getContent()).extracting(ProductDto::stock).containsExactly(10, 99, 30, 40, 50, 1);
+        // Los dos productos modificados y el producto 5, que tiene la marca del watermark y cae en el margen
+        assertThat(meterRegistry.get("tienda.catalog.reconcile.rows").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void appliesLocalStockChangesAndFallsBackForOtherSorts() {
+        var catalog = catalog(new SimpleMeterRegistry());
+        catalog.reconcile();
+
+        catalog.onStockChange(new StockChangeEvent(3L, "Producto 3", 30, 7));
+
+        assertThat(catalog.findPage(PageRequest.of(1, 2)).orElseThrow().getContent())
+                .extracting(ProductDto::id, ProductDto::stock)
+                .containsExactly(tuple(3L, 7), tuple(4L, 40));
+        assertThat(catalog.findPage(PageRequest.of(0, 2, Sort.by("price")))).isEmpty();
+    }
+
+    @Test
+    void reloadsWhenTheSnapshotDoesNotMatchTheDatabase() throws Exception {
+        var first = catalog(new SimpleMeterRegistry());
+        first.reconcile();
+        first.onShutdown();
+        jdbcTemplate.update("DELETE FROM products WHERE id = 5");
+
+        var second = catalog(new SimpleMeterRegistry());
+        second.loadSnapshot();
+        second.reconcile();
+        assertThat(second.findPage(PageRequest.of(0, 10)).orElseThrow().getTotalElements()).isEqualTo(4);
+
+        var bytes = Files.readAllBytes(snapshotFile);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(snapshotFile, bytes);
+        var third = catalog(new SimpleMeterRegistry());
+        third.loadSnapshot();
+        assertThat(third.isReady()).isFalse();
+    }
+
+    private ProductCatalog catalog(SimpleMeterRegistry meterRegistry) {
+        return new ProductCatalog(jdbcTemplate, meterRegistry, true, snapshotFile.toString(), 5_000);
+    }
+}
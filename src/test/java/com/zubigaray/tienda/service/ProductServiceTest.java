@@ -0,0 +1,49 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.repo.ProductRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductServiceTest {
+
+    private final ProductRepo productRepo = mock(ProductRepo.class);
+    private final ApplicationEventPublisher applicationEventPublisher = mock(ApplicationEventPublisher.class);
+    private final ProductServiceImp productService = new ProductServiceImp();
+
+    ProductServiceTest() {
+        ReflectionTestUtils.setField(productService, "productRepo", productRepo);
+        ReflectionTestUtils.setField(productService, "applicationEventPublisher", applicationEventPublisher);
+    }
+
+    @Test
+    void restockAddsToTheStock() {
+        when(productRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(new Product(1L, "Producto", "Descripcion", BigDecimal.ONE, 5)));
+
+        assertThat(productService.restock(1L, 10).stock()).isEqualTo(15);
+    }
+
+    @Test
+    void restockRejectsAStockThatOverflows() {
+        var product = new Product(1L, "Producto", "Descripcion", BigDecimal.ONE, Integer.MAX_VALUE - 1);
+        when(productRepo.findByIdForUpdate(1L)).thenReturn(Optional.of(product));
+
+        assertThatThrownBy(() -> productService.restock(1L, 2))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Stock overflow");
+        assertThat(product.getStock()).isEqualTo(Integer.MAX_VALUE - 1);
+        verify(applicationEventPublisher, never()).publishEvent(any());
+    }
+}
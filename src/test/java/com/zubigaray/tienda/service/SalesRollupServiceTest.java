@@ -0,0 +1,106 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.SalesRollupDto;
+import com.zubigaray.tienda.enums.RollupGranularity;
+import com.zubigaray.tienda.model.Order;
+import com.zubigaray.tienda.model.OrderDetail;
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.OrderDetailRepo;
+import com.zubigaray.tienda.repo.OrderRepo;
+import com.zubigaray.tienda.repo.ProductRepo;
+import com.zubigaray.tienda.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rollups;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop", "spring.flyway.enabled=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SalesRollupServiceImp.class)
+class SalesRollupServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2025, 3, 10, 0, 0);
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Autowired
+    private OrderRepo orderRepo;
+
+    @Autowired
+    private OrderDetailRepo orderDetailRepo;
+
+    @Test
+    void recordedRollupsMatchARebuildFromTheOrders() {
+        var user = new User();
+        user.setUserName("rollups");
+        user.setMail("rollups@tienda.test");
+        user.setPassword("secret");
+        user.setRegisterDate(DAY);
+        userRepo.save(user);
+        var first = productRepo.save(new Product(null, "Primero", "Descripcion", new BigDecimal("10.00"), 100));
+        var second = productRepo.save(new Product(null, "Segundo", "Descripcion", new BigDecimal("2.50"), 100));
+
+        placeOrder(user, DAY.plusHours(9).plusMinutes(15), List.of(line(first, 2), line(second, 4)));
+        placeOrder(user, DAY.plusHours(9).plusMinutes(40), List.of(line(first, 1)));
+        placeOrder(user, DAY.plusHours(17), List.of(line(second, 2)));
+
+        var recordedDaily = sales(RollupGranularity.DAY, null);
+        assertThat(recordedDaily).singleElement().satisfies(rollup -> {
+            assertThat(rollup.revenue()).isEqualByComparingTo("45.00");
+            assertThat(rollup.quantity()).isEqualTo(9);
+            assertThat(rollup.orderCount()).isEqualTo(3);
+        });
+        assertThat(sales(RollupGranularity.HOUR, first.getId()))
+                .extracting(SalesRollupDto::bucketStart, SalesRollupDto::quantity, SalesRollupDto::orderCount)
+                .containsExactly(tuple(DAY.plusHours(9), 3L, 2L));
+        var recordedHourly = sales(RollupGranularity.HOUR, null);
+        var recordedSecond = sales(RollupGranularity.DAY, second.getId());
+
+        var written = salesRollupService.rebuild(DAY, DAY.plusDays(1));
+
+        assertThat(written).isEqualTo(8);
+        assertThat(sales(RollupGranularity.DAY, null)).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class).isEqualTo(recordedDaily);
+        assertThat(sales(RollupGranularity.HOUR, null)).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class).isEqualTo(recordedHourly);
+        assertThat(sales(RollupGranularity.DAY, second.getId())).usingRecursiveComparison()
+                .withComparatorForType(BigDecimal::compareTo, BigDecimal.class).isEqualTo(recordedSecond);
+    }
+
+    private void placeOrder(User user, LocalDateTime date, List<OrderDetail> details) {
+        var order = new Order();
+        order.setUser(user);
+        order.setDate(date);
+        order.setTotalPrice(details.stream().map(OrderDetail::getSubTotal).reduce(BigDecimal.ZERO, BigDecimal::add));
+        orderRepo.save(order);
+        details.forEach(detail -> detail.setOrder(order));
+        orderDetailRepo.saveAll(details);
+        salesRollupService.record(order, details);
+    }
+
+    private static OrderDetail line(Product product, int quantity) {
+        return new OrderDetail(null, null, product, quantity, product.getPrice().multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    private List<SalesRollupDto> sales(RollupGranularity granularity, Long productId) {
+        return salesRollupService.findSales(granularity, productId, DAY, DAY.plusDays(1));
+    }
+}
@@ -0,0 +1,67 @@
+package com.zubigaray.tienda.service;
+
+import com.zubigaray.tienda.dto.CartItemDto;
+import com.zubigaray.tienda.model.Product;
+import com.zubigaray.tienda.model.User;
+import com.zubigaray.tienda.repo.ProductRepo;
+import com.zubigaray.tienda.repo.UserRepo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:cart;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.jpa.hibernate.ddl-auto=create-drop", "spring.flyway.enabled=false"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(ShoppingCartServiceImp.class)
+class ShoppingCartServiceTest {
+
+    @Autowired
+    private ShoppingCartService shoppingCartService;
+
+    @Autowired
+    private UserRepo userRepo;
+
+    @Autowired
+    private ProductRepo productRepo;
+
+    @Test
+    void setsReplacesAndRemovesCartItems() {
+        var user = new User();
+        user.setUserName("cart");
+        user.setMail("cart@tienda.test");
+        user.setPassword("secret");
+        user.setRegisterDate(LocalDateTime.now());
+        userRepo.save(user);
+        var first = productRepo.save(new Product(null, "Primero", "Descripcion", new BigDecimal("10.00"), 100));
+        var second = productRepo.save(new Product(null, "Segundo", "Descripcion", new BigDecimal("2.50"), 100));
+
+        shoppingCartService.setItem("cart", first.getId(), 2);
+        shoppingCartService.setItem("cart", second.getId(), 1);
+        // Volver a agregar un producto reemplaza la cantidad en lugar de duplicar la línea
+        var cart = shoppingCartService.setItem("cart", first.getId(), 5);
+
+        assertThat(cart).extracting(CartItemDto::productId, CartItemDto::quantity)
+                .containsExactly(tuple(first.getId(), 5), tuple(second.getId(), 1));
+
+        assertThat(shoppingCartService.removeItem("cart", first.getId()))
+                .extracting(CartItemDto::productId).containsExactly(second.getId());
+        assertThat(shoppingCartService.getCart("cart")).hasSize(1);
+    }
+
+    @Test
+    void rejectsNonPositiveQuantities() {
+        assertThatThrownBy(() -> shoppingCartService.setItem("cart", 1L, 0))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Invalid Quantity");
+    }
+}